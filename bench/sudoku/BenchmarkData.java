@@ -0,0 +1,77 @@
+/**
+ * BenchmarkData.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Contains the inputs shared by the JMH benchmarks. Puzzles are sampled from
+ * the bundled puzzle files with a fixed seed, so every run (and every commit)
+ * measures the same puzzles and results can be compared.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+final class BenchmarkData {
+
+    /* Seed used for every random choice made by the benchmarks */
+    static final long SEED = 20161121L;
+
+    /* Number of puzzles sampled from each file */
+    static final int SAMPLE_SIZE = 1000;
+
+
+    /* Not instantiable */
+    private BenchmarkData() {
+    }
+
+
+    /**
+     * Returns a fixed sample of the puzzle strings of the specified difficulty,
+     * read from the bundled resource file.
+     *
+     * @param difficulty The difficulty of the puzzles, from 1 to 5.
+     * @param count The number of puzzles to sample.
+     * @return The sampled puzzle strings.
+     * @throws IOException If the puzzle file couldn't be read.
+     */
+    static String[] sample(int difficulty, int count) throws IOException {
+        List<String> all = new ArrayList<>();
+        InputStream stream = SudokuGenerator.class.getResourceAsStream(difficulty + ".txt");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() >= 81)
+                    all.add(line);
+            }
+        }
+        Collections.shuffle(all, new Random(SEED + difficulty));
+        List<String> sample = all.subList(0, Math.min(count, all.size()));
+        return sample.toArray(new String[sample.size()]);
+    }
+
+
+    /**
+     * Returns the puzzles of the sample, as SudokuPuzzle objects.
+     *
+     * @param difficulty The difficulty of the puzzles, from 1 to 5.
+     * @param count The number of puzzles to sample.
+     * @return The sampled puzzles.
+     * @throws IOException If the puzzle file couldn't be read.
+     */
+    static SudokuPuzzle[] puzzles(int difficulty, int count) throws IOException {
+        String[] lines = sample(difficulty, count);
+        SudokuPuzzle[] puzzles = new SudokuPuzzle[lines.length];
+        for (int i = 0; i < lines.length; i++)
+            puzzles[i] = new SudokuPuzzle(lines[i]);
+        return puzzles;
+    }
+
+} // End BenchmarkData class
\ No newline at end of file
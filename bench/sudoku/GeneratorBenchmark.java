@@ -0,0 +1,63 @@
+/**
+ * GeneratorBenchmark.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * JMH benchmark for getting a new puzzle from SudokuGenerator, run once per
+ * difficulty. The random number generator is seeded at the start of each
+ * trial, so every run picks the same sequence of puzzles.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    /* Difficulty of the puzzles generated */
+    @Param({"1", "2", "3", "4", "5"})
+    public int difficulty;
+
+    /* Declare private members */
+    private Random random;
+
+
+    /**
+     * Seeds the random number generator at the start of each trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.random = new Random(BenchmarkData.SEED);
+    }
+
+
+    /**
+     * Generates a new puzzle of the difficulty.
+     *
+     * @return The generated puzzle.
+     */
+    @Benchmark
+    public SudokuPuzzle getPuzzle() {
+        return new SudokuGenerator(this.difficulty, this.random).getPuzzle();
+    }
+
+} // End GeneratorBenchmark class
\ No newline at end of file
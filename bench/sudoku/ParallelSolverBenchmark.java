@@ -0,0 +1,109 @@
+/**
+ * ParallelSolverBenchmark.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * JMH benchmark for the ParallelSolver, run once per pool size. The puzzles
+ * whose search visits the most nodes are picked from all five difficulty
+ * files, and each operation checks one of them for a unique solution with a
+ * ParallelSolver on a fork/join pool of the given number of threads. Comparing
+ * the scores of each pool size gives the speedup over a single thread.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelSolverBenchmark {
+
+    /* Number of the hardest puzzles checked by each operation */
+    private static final int HARDEST = 20;
+
+    /* Number of threads in the pool */
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    /* Declare private members */
+    private SudokuPuzzle[] puzzles;
+    private ForkJoinPool pool;
+
+
+    /**
+     * Picks the puzzles needing the most search nodes from every difficulty
+     * file, and starts the pool.
+     *
+     * @throws IOException If a puzzle file couldn't be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        List<String> all = new ArrayList<>();
+        List<Long> nodes = new ArrayList<>();
+        SolverContext context = new SolverContext();
+        for (int i = 1; i <= 5; i++) {
+            for (String s : BenchmarkData.sample(i, Integer.MAX_VALUE)) {
+                if (context.reset(s))
+                    context.countSolutions(2);
+                all.add(s);
+                nodes.add(context.getNodes());
+            }
+        }
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < all.size(); i++)
+            order.add(i);
+        order.sort((a, b) -> Long.compare(nodes.get(b), nodes.get(a)));
+        this.puzzles = new SudokuPuzzle[HARDEST];
+        for (int i = 0; i < HARDEST; i++)
+            this.puzzles[i] = new SudokuPuzzle(all.get(order.get(i)));
+        this.pool = new ForkJoinPool(this.threads);
+    }
+
+
+    /**
+     * Shuts down the pool.
+     */
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+
+    /**
+     * Checks each of the hardest puzzles for a unique solution on the pool.
+     *
+     * @return The number of puzzles with a unique solution.
+     */
+    @Benchmark
+    @OperationsPerInvocation(HARDEST)
+    public int parallelSolver() {
+        int unique = 0;
+        for (SudokuPuzzle p : this.puzzles) {
+            if (new ParallelSolver(p, this.pool).countSolutions(2) == 1)
+                unique++;
+        }
+        return unique;
+    }
+
+} // End ParallelSolverBenchmark class
\ No newline at end of file
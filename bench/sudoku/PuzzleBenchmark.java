@@ -0,0 +1,126 @@
+/**
+ * PuzzleBenchmark.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * JMH benchmark for the SudokuPuzzle methods called by the game window while
+ * playing: the legal moves and conflicts of every cell, checking whether the
+ * puzzle is complete, and writing out the puzzle's state. The puzzles are a
+ * fixed sample of the expert file, half-filled from their solutions with a
+ * fixed seed so that both empty and filled cells are measured.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PuzzleBenchmark {
+
+    /* Number of puzzles measured */
+    private static final int PUZZLES = 100;
+
+    /* Declare private members */
+    private SudokuPuzzle[] playing;
+    private SudokuPuzzle[] solved;
+
+
+    /**
+     * Samples the puzzles, then fills in half of their empty cells and all of
+     * them from their solutions.
+     *
+     * @throws IOException If the puzzle file couldn't be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Random r = new Random(BenchmarkData.SEED);
+        this.playing = BenchmarkData.puzzles(5, PUZZLES);
+        this.solved = new SudokuPuzzle[PUZZLES];
+        for (int i = 0; i < PUZZLES; i++) {
+            SudokuPuzzle answer = new SudokuSolver(this.playing[i]).getSolution();
+            this.solved[i] = new SudokuPuzzle(answer.currentPuzzleState());
+            for (int j = 0; j < 81; j++) {
+                int row = j / 9, col = j % 9;
+                if (this.playing[i].getValue(row, col) == 0 && r.nextBoolean())
+                    this.playing[i].insert(answer.getValue(row, col), row, col);
+            }
+        }
+    }
+
+
+    /**
+     * Gets the legal moves of every cell of each puzzle.
+     *
+     * @param bh The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PUZZLES * 81)
+    public void getLegalMoves(Blackhole bh) {
+        for (SudokuPuzzle p : this.playing) {
+            for (int j = 0; j < 81; j++)
+                bh.consume(p.getLegalMoves(j / 9, j % 9));
+        }
+    }
+
+
+    /**
+     * Gets the conflicting squares of every cell of each puzzle.
+     *
+     * @param bh The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PUZZLES * 81)
+    public void getConflicts(Blackhole bh) {
+        for (SudokuPuzzle p : this.playing) {
+            for (int j = 0; j < 81; j++)
+                bh.consume(p.getConflicts(j / 9, j % 9));
+        }
+    }
+
+
+    /**
+     * Checks whether each solved puzzle is complete, the worst case since
+     * every cell and group is checked.
+     *
+     * @param bh The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PUZZLES)
+    public void isComplete(Blackhole bh) {
+        for (SudokuPuzzle p : this.solved)
+            bh.consume(p.isComplete());
+    }
+
+
+    /**
+     * Writes out the current state of each puzzle.
+     *
+     * @param bh The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PUZZLES)
+    public void currentPuzzleState(Blackhole bh) {
+        for (SudokuPuzzle p : this.playing)
+            bh.consume(p.currentPuzzleState());
+    }
+
+} // End PuzzleBenchmark class
\ No newline at end of file
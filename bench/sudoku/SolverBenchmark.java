@@ -0,0 +1,94 @@
+/**
+ * SolverBenchmark.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * JMH benchmark for the Sudoku solver, run once per difficulty file. Each
+ * operation solves a fixed sample of the file's puzzles, either by creating a
+ * SudokuSolver per puzzle as the application does, or by reusing a single
+ * SolverContext as batch jobs do. Scores are the average time per puzzle.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    /* Difficulty file the puzzles are sampled from */
+    @Param({"1", "2", "3", "4", "5"})
+    public int difficulty;
+
+    /* Declare private members */
+    private SudokuPuzzle[] puzzles;
+    private String[] lines;
+    private SolverContext context;
+
+
+    /**
+     * Samples the puzzles of the difficulty file.
+     *
+     * @throws IOException If the puzzle file couldn't be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        this.lines = BenchmarkData.sample(this.difficulty, BenchmarkData.SAMPLE_SIZE);
+        this.puzzles = BenchmarkData.puzzles(this.difficulty, BenchmarkData.SAMPLE_SIZE);
+        this.context = new SolverContext();
+    }
+
+
+    /**
+     * Solves each puzzle of the sample with a new SudokuSolver.
+     *
+     * @return The number of puzzles solved.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.SAMPLE_SIZE)
+    public int sudokuSolver() {
+        int solved = 0;
+        for (SudokuPuzzle p : this.puzzles) {
+            if (new SudokuSolver(p).isSolvable())
+                solved++;
+        }
+        return solved;
+    }
+
+
+    /**
+     * Checks each puzzle of the sample for a unique solution, reusing a
+     * single SolverContext.
+     *
+     * @return The number of puzzles with a unique solution.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.SAMPLE_SIZE)
+    public int solverContext() {
+        int unique = 0;
+        for (String s : this.lines) {
+            if (this.context.reset(s) && this.context.countSolutions(2) == 1)
+                unique++;
+        }
+        return unique;
+    }
+
+} // End SolverBenchmark class
\ No newline at end of file
@@ -0,0 +1,124 @@
+/**
+ * BatchResult.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that holds the result of solving one puzzle in a batch: the puzzle,
+ * its solution, how many solutions it has (counted up to 2), and the
+ * statistics of the solve, such as the cells filled by propagation and by
+ * searching, and the time taken to solve it.
+ */
+package sudoku;
+
+
+public class BatchResult {
+
+    /* Declare private members */
+    private final int index;
+    private final String puzzle;
+    private final String solution;
+    private final int solutions;
+    private final SolveStats stats;
+
+
+    /* Default constructor */
+    public BatchResult(int index, String puzzle, String solution, int solutions,
+            SolveStats stats) {
+        this.index = index;
+        this.puzzle = puzzle;
+        this.solution = solution;
+        this.solutions = solutions;
+        this.stats = stats;
+    }
+
+
+    /**
+     * Returns the position of the puzzle in the batch, starting from 0.
+     *
+     * @return The index of the puzzle.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+
+    /**
+     * Returns the 81-character string of the puzzle that was solved.
+     *
+     * @return The puzzle string.
+     */
+    public String getPuzzle() {
+        return this.puzzle;
+    }
+
+
+    /**
+     * Returns the 81-character string of the puzzle's solution, or null if the
+     * puzzle could not be solved.
+     *
+     * @return The solution string, or null if not solvable.
+     */
+    public String getSolution() {
+        return this.solution;
+    }
+
+
+    /**
+     * Returns true if the puzzle was able to be solved, or false if not.
+     *
+     * @return True if the puzzle can be solved, false if not.
+     */
+    public boolean isSolvable() {
+        return this.solutions > 0;
+    }
+
+
+    /**
+     * Returns true if the puzzle has exactly one solution, or false if not.
+     *
+     * @return True if the puzzle has a unique solution, false if not.
+     */
+    public boolean isUnique() {
+        return this.solutions == 1;
+    }
+
+
+    /**
+     * Returns the number of cells filled by propagation before searching.
+     *
+     * @return The number of propagated cells.
+     */
+    public int getPropagatedCells() {
+        return this.stats.getPropagatedCells();
+    }
+
+
+    /**
+     * Returns the number of cells left to the search after propagation.
+     *
+     * @return The number of searched cells.
+     */
+    public int getSearchedCells() {
+        return this.stats.getSearchedCells();
+    }
+
+
+    /**
+     * Returns the time taken to solve the puzzle, in nanoseconds.
+     *
+     * @return The solving time in nanoseconds.
+     */
+    public long getNanos() {
+        return this.stats.getWallNanos();
+    }
+
+
+    /**
+     * Returns the statistics of the solve.
+     *
+     * @return The solve statistics.
+     */
+    public SolveStats getStats() {
+        return this.stats;
+    }
+
+} // End BatchResult class
\ No newline at end of file
@@ -0,0 +1,187 @@
+/**
+ * BatchSolver.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that solves many puzzles at once, given as 81-character strings. The
+ * puzzles are split into ranges that are solved in parallel on a fork/join
+ * pool; each worker thread keeps its own SolverContext, so solving allocates
+ * nothing besides the results. Each puzzle is checked for a unique solution,
+ * and the results are returned in the same order as the puzzles, along with
+ * the statistics of each solve; summarize() aggregates them into percentiles.
+ * Each batch solver owns its pool, so close it when done solving to stop the
+ * pool's threads.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BatchSolver implements AutoCloseable {
+
+    /* Number of puzzles below which a range is solved without splitting */
+    private static final int THRESHOLD = 256;
+
+    /* Declare private members */
+    private final ForkJoinPool pool;
+    private final CellSelection selection;
+    private final ThreadLocal<SolverContext> contexts;
+
+
+    /* Default constructor, uses one thread per available processor */
+    public BatchSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /* Secondary constructor, takes the number of threads to solve with */
+    public BatchSolver(int parallelism) {
+        this(parallelism, CellSelection.MRV);
+    }
+
+
+    /* Tertiary constructor, takes the policy for picking the next cell to fill */
+    public BatchSolver(int parallelism, CellSelection selection) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.selection = selection;
+        this.contexts = new ThreadLocal<SolverContext>() {
+            @Override
+            protected SolverContext initialValue() {
+                return new SolverContext(BatchSolver.this.selection);
+            }
+        };
+    }
+
+
+    /**
+     * Solves each of the puzzles, and returns the results in the same order
+     * as the puzzles were given.
+     *
+     * @param puzzles The 81-character strings of the puzzles to solve.
+     * @return The list of results, one per puzzle.
+     */
+    public List<BatchResult> solve(Collection<String> puzzles) {
+        String[] array = puzzles.toArray(new String[puzzles.size()]);
+        BatchResult[] results = new BatchResult[array.length];
+        this.pool.invoke(new SolveTask(array, results, 0, array.length));
+        return Arrays.asList(results);
+    }
+
+
+    /**
+     * Solves each of the puzzles in the stream, and returns the results in the
+     * stream's order.
+     *
+     * @param puzzles The stream of 81-character strings of the puzzles to solve.
+     * @return The list of results, one per puzzle.
+     */
+    public List<BatchResult> solve(Stream<String> puzzles) {
+        List<String> list = puzzles.collect(Collectors.toList());
+        return this.solve(list);
+    }
+
+
+    /**
+     * Returns the number of threads the puzzles are solved with.
+     *
+     * @return The number of solving threads.
+     */
+    public int getParallelism() {
+        return this.pool.getParallelism();
+    }
+
+
+    /**
+     * Shuts down the solver's pool. Batches already being solved still finish,
+     * but no new batches can be solved afterwards.
+     */
+    @Override
+    public void close() {
+        this.pool.shutdown();
+    }
+
+
+    /**
+     * Aggregates the statistics of the results into percentiles.
+     *
+     * @param results The results of solving a batch of puzzles.
+     * @return The summary of the results' statistics.
+     */
+    public static SolveStatsSummary summarize(Collection<BatchResult> results) {
+        List<SolveStats> stats = new ArrayList<>(results.size());
+        for (BatchResult r : results)
+            stats.add(r.getStats());
+        return new SolveStatsSummary(stats);
+    }
+
+
+    /**
+     * Solves a single puzzle with the calling thread's context, and returns
+     * its result. A string that isn't a well-formed board gives a result with
+     * no solutions, so one damaged line doesn't stop the whole batch.
+     */
+    private BatchResult solveOne(int index, String puzzle) {
+        long start = System.nanoTime();
+        long cpu = SolveStats.currentThreadCpuTime();
+        if (!PuzzleCodec.isWellFormed(puzzle))
+            return new BatchResult(index, puzzle, null, 0, new SolveStats(0, 0, 0, 0, 0,
+                    System.nanoTime() - start, SolveStats.currentThreadCpuTime() - cpu));
+        SolverContext context = this.contexts.get();
+        int count = context.reset(puzzle) ? context.countSolutions(2) : 0;
+
+        /* Writes out the solution, if there is one */
+        String solution = null;
+        if (count > 0) {
+            char[] chars = new char[81];
+            for (int i = 0; i < 81; i++)
+                chars[i] = (char) ('0' + context.getSolutionValue(i));
+            solution = new String(chars);
+        }
+        SolveStats stats = context.toStats(System.nanoTime() - start,
+                SolveStats.currentThreadCpuTime() - cpu);
+        return new BatchResult(index, puzzle, solution, count, stats);
+    }
+
+
+    /**
+     * Fork/join task that solves a range of the puzzles, splitting the range
+     * in half until it is small enough to solve directly.
+     */
+    private class SolveTask extends RecursiveAction {
+
+        /* Declare private members */
+        private final String[] puzzles;
+        private final BatchResult[] results;
+        private final int from, to;
+
+
+        /* Default constructor */
+        SolveTask(String[] puzzles, BatchResult[] results, int from, int to) {
+            this.puzzles = puzzles;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= THRESHOLD) {
+                for (int i = this.from; i < this.to; i++)
+                    this.results[i] = BatchSolver.this.solveOne(i, this.puzzles[i]);
+                return;
+            }
+            int mid = (this.from + this.to) >>> 1;
+            invokeAll(new SolveTask(this.puzzles, this.results, this.from, mid),
+                    new SolveTask(this.puzzles, this.results, mid, this.to));
+        }
+    }
+
+} // End BatchSolver class
\ No newline at end of file
@@ -0,0 +1,322 @@
+/**
+ * BinaryPuzzleBank.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Puzzle bank stored in the compact binary format of the N.bank resources,
+ * written from the text banks by PuzzleBankConverter. All numbers are stored
+ * big-endian. A bank starts with a 16-byte header:
+ *
+ *     bytes 0-3    magic number, the characters "SDKB"
+ *     bytes 4-5    format version, currently 1
+ *     byte  6      difficulty of the puzzles, from 1-5
+ *     byte  7      reserved, 0
+ *     bytes 8-11   number of puzzles
+ *     bytes 12-15  CRC-32 of every byte after the header
+ *
+ * followed by an index holding the 4-byte offset of each puzzle from the
+ * start of the bank, then the puzzles themselves. Each puzzle is an 11-byte
+ * bitmap of its givens (bit i % 8 of byte i / 8 is set if tile i holds a
+ * number), then the numbers of the givens in row-major order, two per byte
+ * with the first in the low 4 bits. A puzzle with 25 givens takes 28 bytes
+ * with its index entry, against 82 in the text banks, and is read without
+ * any text decoding.
+ *
+ * The bank is read through a read-only ByteBuffer: one wrapping the bytes of
+ * a resource, or one mapping a bank file into memory, so that banks holding
+ * millions of puzzles are paged in by the operating system instead of kept on
+ * the heap. Opening a bank only checks its header, so it takes the same time
+ * for any size of bank; verify() reads the whole bank to check its checksum
+ * and every puzzle, and is run by PuzzleBankConverter on the banks it writes.
+ * Puzzles are read with absolute gets only, which leave the buffer unchanged,
+ * so any number of threads can read from one bank without locking. decode()
+ * fills a board or a Sudoku puzzle given by the caller, for reading many
+ * puzzles with little or no garbage. PackedBoard is immutable, so getBoard()
+ * always returns a new one.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+public final class BinaryPuzzleBank implements PuzzleBank {
+
+    /* Magic number at the start of every bank, "SDKB" */
+    public static final int MAGIC = 0x53444B42;
+
+    /* Version of the format written */
+    public static final int VERSION = 1;
+
+    /* Length of the header, and of the givens bitmap of each puzzle */
+    static final int HEADER_LENGTH = 16, BITMAP_LENGTH = 11;
+
+    /* Declare private members */
+    private final ByteBuffer buffer;
+    private final int difficulty, size;
+
+
+    /* Default constructor, takes the whole contents of the bank */
+    public BinaryPuzzleBank(byte[] bytes) throws IOException {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+
+    /* Secondary constructor, takes a buffer holding the bank from its position to its limit */
+    public BinaryPuzzleBank(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.slice().asReadOnlyBuffer().order(ByteOrder.BIG_ENDIAN);
+        int length = this.buffer.limit();
+        if (length < HEADER_LENGTH || this.buffer.getInt(0) != MAGIC)
+            throw new IOException("Not a puzzle bank");
+        int version = this.buffer.getShort(4) & 0xFFFF;
+        if (version != VERSION)
+            throw new IOException("Unsupported puzzle bank version " + version);
+        this.difficulty = this.buffer.get(6);
+        this.size = this.buffer.getInt(8);
+        if (this.size < 0 || HEADER_LENGTH + 4L * this.size > length)
+            throw new IOException("Puzzle bank is damaged, bad puzzle count " + this.size);
+    }
+
+
+    /**
+     * Opens the bank at the specified location, mapping it into memory if
+     * it's a file on disk, or reading it onto the heap otherwise.
+     *
+     * @param url The location of the bank.
+     * @return The opened puzzle bank.
+     * @throws IOException If the bank could not be read, or its header is damaged.
+     */
+    public static BinaryPuzzleBank open(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return map(new File(url.toURI()));
+            } catch (URISyntaxException e) {
+                /* Not a usable path, falls back to reading the stream */
+            }
+        }
+        try (InputStream stream = url.openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = stream.read(buffer)) > 0)
+                out.write(buffer, 0, n);
+            return new BinaryPuzzleBank(out.toByteArray());
+        }
+    }
+
+
+    /**
+     * Maps the bank file into memory. The mapping stays valid after the file
+     * is closed, and its pages are only read as puzzles are used; banks must
+     * be smaller than 2 GB.
+     *
+     * @param f The bank file.
+     * @return The opened puzzle bank.
+     * @throws IOException If the bank could not be mapped, or its header is damaged.
+     */
+    public static BinaryPuzzleBank map(File f) throws IOException {
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            return new BinaryPuzzleBank(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+
+    /**
+     * Writes the puzzles as a bank in the binary format.
+     *
+     * @param puzzles The 81-character strings of the puzzles.
+     * @param difficulty The difficulty of the puzzles, from 1-5.
+     * @param out The stream to write the bank to.
+     * @throws IOException If the bank could not be written.
+     */
+    public static void write(List<? extends CharSequence> puzzles, int difficulty,
+            OutputStream out) throws IOException {
+
+        /* Encodes the puzzles, recording where each one starts */
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        int[] offsets = new int[puzzles.size()];
+        int start = HEADER_LENGTH + 4 * puzzles.size();
+        byte[] record = new byte[BITMAP_LENGTH + 41];
+        for (int k = 0; k < offsets.length; k++) {
+            offsets[k] = start + records.size();
+            records.write(record, 0, encode(puzzles.get(k), record));
+        }
+
+        /* Writes the index and the puzzles after the header */
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(body);
+        for (int offset : offsets)
+            data.writeInt(offset);
+        records.writeTo(data);
+        data.flush();
+        CRC32 crc = new CRC32();
+        crc.update(body.toByteArray());
+
+        /* Writes the header, then the body */
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeShort(VERSION);
+        header.writeByte(difficulty);
+        header.writeByte(0);
+        header.writeInt(offsets.length);
+        header.writeInt((int) crc.getValue());
+        body.writeTo(header);
+        header.flush();
+    }
+
+
+    /**
+     * Reads the whole bank, checking that the checksum matches its contents
+     * and that every puzzle can be read. Opening a bank does not do this, as
+     * it reads every page of a mapped bank.
+     *
+     * @throws IOException If the bank is damaged.
+     */
+    public void verify() throws IOException {
+        ByteBuffer body = this.buffer.duplicate();
+        body.position(HEADER_LENGTH);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if ((int) crc.getValue() != this.buffer.getInt(12))
+            throw new IOException("Puzzle bank is damaged, checksum does not match");
+        int[][] board = new int[9][9];
+        for (int k = 0; k < this.size; k++)
+            this.decode(k, board);
+    }
+
+
+    /**
+     * Returns the number of puzzles in the bank.
+     *
+     * @return The number of puzzles.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+
+    /**
+     * Returns the difficulty of the bank's puzzles, from 1-5.
+     *
+     * @return The difficulty stored in the header.
+     */
+    public int getDifficulty() {
+        return this.difficulty;
+    }
+
+
+    /**
+     * Returns the 81-character string of the puzzle at the specified index.
+     *
+     * @param index The index of the puzzle, from 0 to size() - 1.
+     * @return The string representing the puzzle's initial state.
+     * @throws IOException If the puzzle's record is damaged.
+     */
+    @Override
+    public String get(int index) throws IOException {
+        int[][] board = new int[9][9];
+        this.decode(index, board);
+        return PuzzleCodec.encode(board);
+    }
+
+
+    /**
+     * Returns the puzzle at the specified index as a packed board.
+     *
+     * @param index The index of the puzzle, from 0 to size() - 1.
+     * @return The packed board of the puzzle's initial state.
+     * @throws IOException If the puzzle's record is damaged.
+     */
+    public PackedBoard getBoard(int index) throws IOException {
+        int[][] board = new int[9][9];
+        this.decode(index, board);
+        return new PackedBoard(board);
+    }
+
+
+    /**
+     * Reads the puzzle at the specified index into the 9x9 array, with 0 for
+     * empty tiles. Nothing is allocated, so a thread can reuse one array for
+     * every puzzle it reads, and load it with SolverContext.reset(int[][]).
+     *
+     * @param index The index of the puzzle, from 0 to size() - 1.
+     * @param board The 9x9 array to read the puzzle into.
+     * @throws IOException If the puzzle's record is damaged.
+     */
+    public void decode(int index, int[][] board) throws IOException {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Puzzle " + index + " of " + this.size);
+        ByteBuffer b = this.buffer;
+        int length = b.limit();
+        int offset = b.getInt(HEADER_LENGTH + 4 * index);
+        if (offset < HEADER_LENGTH || offset > length - BITMAP_LENGTH)
+            throw new IOException("Puzzle bank is damaged, bad offset " + offset);
+
+        /* Reads the number of each given, in order, from the digits after the bitmap */
+        int digits = offset + BITMAP_LENGTH, n = 0;
+        for (int i = 0; i < PuzzleCodec.LENGTH; i++) {
+            int val = 0;
+            if ((b.get(offset + (i >> 3)) & (1 << (i & 7))) != 0) {
+                int k = digits + (n >> 1);
+                if (k >= length)
+                    throw new IOException("Puzzle bank is damaged, puzzle " + index + " is cut off");
+                val = (b.get(k) >> ((n & 1) << 2)) & 0xF;
+                n++;
+            }
+            board[i / 9][i % 9] = val;
+        }
+    }
+
+
+    /**
+     * Loads the puzzle at the specified index into the Sudoku puzzle, as both
+     * its initial and current state. The numbers are read straight into the
+     * puzzle's own board, so the only thing allocated is the string of its
+     * initial state, and one puzzle can be reused for every puzzle read.
+     *
+     * @param index The index of the puzzle, from 0 to size() - 1.
+     * @param p The Sudoku puzzle to load the puzzle into.
+     * @throws IOException If the puzzle's record is damaged.
+     */
+    @Override
+    public void decode(int index, SudokuPuzzle p) throws IOException {
+        int[][] board = p.toArray();
+        this.decode(index, board);
+        p.setArray(board);
+        p.setInitialPuzzleState(p.currentPuzzleState());
+    }
+
+
+    /**
+     * Encodes the puzzle into the record as a givens bitmap followed by the
+     * numbers of the givens, returning the record's length.
+     */
+    static int encode(CharSequence s, byte[] record) {
+        Arrays.fill(record, (byte) 0);
+        int n = 0;
+        for (int i = 0; i < PuzzleCodec.LENGTH; i++) {
+            char ch = s.charAt(i);
+            if (ch < '1' || ch > '9')
+                continue;
+            record[i >> 3] |= 1 << (i & 7);
+            record[BITMAP_LENGTH + (n >> 1)] |= (ch - '0') << ((n & 1) << 2);
+            n++;
+        }
+        return BITMAP_LENGTH + (n + 1) / 2;
+    }
+
+} // End BinaryPuzzleBank class
\ No newline at end of file
@@ -0,0 +1,88 @@
+/**
+ * BoardGeometry.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that holds the lookup tables describing a Sudoku board of a given
+ * subgrid size: the row, column and subgrid of each cell, the peers of each
+ * cell, and the cells of each group. A subgrid size of 3 is the standard 9x9
+ * board; sizes 2 to 5 are supported, so that every digit fits into an int
+ * mask. Geometries are immutable and shared, use forBoxSize() to get one.
+ */
+package sudoku;
+
+
+public final class BoardGeometry {
+
+    /* Geometries already built, indexed by subgrid size */
+    private static final BoardGeometry[] CACHE = new BoardGeometry[6];
+
+    /* The standard 9x9 board */
+    public static final BoardGeometry STANDARD = BoardGeometry.forBoxSize(3);
+
+    /* Declare members, read-only tables shared within the package */
+    final int boxSize;
+    final int size;
+    final int cellCount;
+    final int allDigits;
+    final int[] row;
+    final int[] column;
+    final int[] box;
+    final int[][] peers;
+    final int[][] units;
+
+
+    /* Default constructor, builds the tables for the given subgrid size */
+    private BoardGeometry(int n) {
+        this.boxSize = n;
+        this.size = n * n;
+        this.cellCount = this.size * this.size;
+        this.allDigits = (1 << this.size) - 1;
+        this.row = new int[this.cellCount];
+        this.column = new int[this.cellCount];
+        this.box = new int[this.cellCount];
+        this.peers = new int[this.cellCount][3 * this.size - 2 * n - 1];
+        this.units = new int[3 * this.size][this.size];
+
+        /* Row, column and subgrid of each cell */
+        for (int i = 0; i < this.cellCount; i++) {
+            this.row[i] = i / this.size;
+            this.column[i] = i % this.size;
+            this.box[i] = (this.row[i] / n) * n + this.column[i] / n;
+        }
+
+        /* The cells sharing a row, column or subgrid with each cell */
+        for (int i = 0; i < this.cellCount; i++) {
+            int k = 0;
+            for (int j = 0; j < this.cellCount; j++) {
+                if (i != j && (this.row[i] == this.row[j] || this.column[i] == this.column[j]
+                        || this.box[i] == this.box[j]))
+                    this.peers[i][k++] = j;
+            }
+        }
+
+        /* The cells of each group: rows first, then columns, then subgrids */
+        for (int i = 0; i < this.cellCount; i++) {
+            int k = (this.row[i] % n) * n + this.column[i] % n;
+            this.units[this.row[i]][this.column[i]] = i;
+            this.units[this.size + this.column[i]][this.row[i]] = i;
+            this.units[2 * this.size + this.box[i]][k] = i;
+        }
+    }
+
+
+    /**
+     * Returns the geometry of a board with the specified subgrid size, from 2
+     * (a 4x4 board) to 5 (a 25x25 board).
+     *
+     * @param n The number of rows and columns in each subgrid.
+     * @return The geometry of the board.
+     */
+    public static synchronized BoardGeometry forBoxSize(int n) {
+        if (n < 2 || n > 5)
+            throw new IllegalArgumentException("Unsupported subgrid size: " + n);
+        if (CACHE[n] == null)
+            CACHE[n] = new BoardGeometry(n);
+        return CACHE[n];
+    }
+
+} // End BoardGeometry class
\ No newline at end of file
@@ -0,0 +1,36 @@
+/**
+ * CancellationToken.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class used to cancel a solve from another thread. The token is handed to the
+ * solver inside a SolveBudget; once cancel() is called, the solver gives up at
+ * its next check and reports SolveStatus.GAVE_UP. A token cannot be reset.
+ */
+package sudoku;
+
+
+public final class CancellationToken {
+
+    /* Declare private members */
+    private volatile boolean cancelled;
+
+
+    /**
+     * Asks every solve using this token to give up. Can be called from any
+     * thread.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+
+    /**
+     * Returns true if the token has been cancelled, or false if not.
+     *
+     * @return True if cancel() was called, false if not.
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+} // End CancellationToken class
\ No newline at end of file
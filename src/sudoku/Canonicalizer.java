@@ -0,0 +1,355 @@
+/**
+ * Canonicalizer.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that maps a Sudoku board to the canonical form of its equivalence
+ * class. Two boards are equivalent if one can be turned into the other by
+ * relabelling the numbers, permuting the rows within a band or the columns
+ * within a stack, swapping bands or stacks, or transposing the board; each of
+ * these keeps a puzzle's solutions (and so its difficulty) the same. The
+ * canonical form is the lexicographically smallest 81-character string over
+ * all of these transformations, with empty tiles ('0') smaller than numbers
+ * and the numbers relabelled 1, 2, 3... in order of first appearance. Two
+ * boards are equivalent if and only if their canonical forms are equal, which
+ * makes the form usable for removing duplicates from puzzle banks and as a key
+ * for results shared by the whole class.
+ *
+ * There are 2 * 6^8 transformations, ignoring relabelling, so they are not
+ * tried one by one. The board is built row by row with a branch-and-bound
+ * search: the first row fixes the orientation and the column order, and every
+ * later row only tries the rows the band structure allows, keeping the ones
+ * giving the smallest row and dropping any branch already greater than the
+ * best board found so far. A canonicalizer is not thread safe, but can be
+ * reused for any number of boards; use one canonicalizer per thread.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.util.Arrays;
+
+public final class Canonicalizer {
+
+    /* The six orderings of three items */
+    private static final int[][] ORDERS = {
+        {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}
+    };
+
+    /* Number of column orders: 6 stack orders times 6 orders within each stack */
+    private static final int COLUMN_ORDERS = 6 * 6 * 6 * 6;
+
+    /* All column orders, 9 columns each, as the column placed at each position */
+    private static final int[] COLUMNS = new int[COLUMN_ORDERS * 9];
+
+    static {
+        int k = 0;
+        for (int[] stacks : ORDERS)
+            for (int[] a : ORDERS)
+                for (int[] b : ORDERS)
+                    for (int[] c : ORDERS) {
+                        int[][] within = {a, b, c};
+                        for (int s = 0; s < 3; s++)
+                            for (int j = 0; j < 3; j++)
+                                COLUMNS[k++] = stacks[s] * 3 + within[s][j];
+                    }
+    }
+
+    /* Declare private members */
+    private final int[][] grids;
+    private final int[] best, current, chosen;
+    private final int[][] labels, candidates, rowBuffers;
+    private final int[] nextLabels;
+    private int[] grid;
+    private int columns;
+    private int usedRows, usedBands;
+    private int diverge;
+
+
+    /* Default constructor */
+    public Canonicalizer() {
+        this.grids = new int[2][81];
+        this.best = new int[81];
+        this.current = new int[81];
+        this.chosen = new int[9];
+        this.labels = new int[10][10];
+        this.nextLabels = new int[10];
+        this.candidates = new int[9][9];
+        this.rowBuffers = new int[9][81];
+    }
+
+
+    /**
+     * Returns the canonical form of the board represented by the string, as
+     * an 81-character string.
+     *
+     * @param s The 81-character string of the board.
+     * @return The canonical form of the board.
+     */
+    public String canonicalize(CharSequence s) {
+        if (s.length() < PuzzleCodec.LENGTH)
+            throw new IllegalArgumentException("Expected 81 characters, got " + s.length());
+        for (int i = 0; i < 81; i++) {
+            char ch = s.charAt(i);
+            this.load(i, (ch >= '1' && ch <= '9') ? ch - '0' : 0);
+        }
+        this.search();
+        char[] chars = new char[81];
+        for (int i = 0; i < 81; i++)
+            chars[i] = (char) ('0' + this.best[i]);
+        return new String(chars);
+    }
+
+
+    /**
+     * Returns the canonical form of the board held by the snapshot. Since
+     * the form is the same for the whole class, the snapshot returned can be
+     * used as a key for anything shared by equivalent puzzles.
+     *
+     * @param p The snapshot of the board.
+     * @return The snapshot of the board's canonical form.
+     */
+    public PuzzleSnapshot canonicalize(PuzzleSnapshot p) {
+        for (int i = 0; i < 81; i++)
+            this.load(i, p.get(i));
+        this.search();
+        int[][] board = new int[9][9];
+        for (int i = 0; i < 81; i++)
+            board[i / 9][i % 9] = this.best[i];
+        return new PuzzleSnapshot(board);
+    }
+
+
+    /**
+     * Returns true if the two boards are the same up to the symmetries of
+     * Sudoku, or false if not.
+     *
+     * @param a The 81-character string of the first board.
+     * @param b The 81-character string of the second board.
+     * @return True if the boards are equivalent, false if not.
+     */
+    public boolean isEquivalent(CharSequence a, CharSequence b) {
+        return this.canonicalize(a).equals(this.canonicalize(b));
+    }
+
+
+    /**
+     * Stores the number of the tile in the board and in its transpose.
+     */
+    private void load(int i, int val) {
+        this.grids[0][i] = val;
+        this.grids[1][(i % 9) * 9 + i / 9] = val;
+    }
+
+
+    /**
+     * Finds the smallest board over all transformations, leaving it in best.
+     * Every orientation, row and column order is tried for the first row, but
+     * only rows whose stacks hold the most empty tiles can give the smallest
+     * first row, so the other rows are skipped.
+     */
+    private void search() {
+        Arrays.fill(this.best, 10);
+        this.diverge = 9;
+
+        /* Finds the first rows with the most leading empty tiles */
+        int top = -1;
+        for (int t = 0; t < 2; t++)
+            for (int r = 0; r < 9; r++)
+                top = Math.max(top, emptiness(this.grids[t], r));
+
+        /* Tries each of them with every column order */
+        for (int t = 0; t < 2; t++) {
+            this.grid = this.grids[t];
+            for (int r = 0; r < 9; r++)
+                if (emptiness(this.grid, r) == top)
+                    this.first(r);
+        }
+    }
+
+
+    /**
+     * Places the row first with each column order, and searches the rest of
+     * the board for each order giving a first row no greater than the best
+     * board's. The orders are tried a stack at a time, so that all orders
+     * sharing a first stack greater than the best one are skipped together.
+     */
+    private void first(int r) {
+        for (int a = 0; a < COLUMN_ORDERS; a += 36) {
+            if (this.firstRow(r, a * 9, 3) > 0)
+                continue;
+            for (int b = a; b < a + 36; b += 6) {
+                if (this.firstRow(r, b * 9, 6) > 0)
+                    continue;
+                for (int c = b; c < b + 6; c++) {
+                    int cmp = this.firstRow(r, c * 9, 9);
+                    if (cmp > 0)
+                        continue;
+
+                    /* Searches the remaining rows */
+                    this.columns = c * 9;
+                    this.chosen[0] = r;
+                    this.usedRows = 1 << r;
+                    this.usedBands = 1 << (r / 3);
+                    this.diverge = (cmp < 0) ? 0 : 9;
+                    this.place(1);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Relabels the first tiles of the row with the column order, up to the
+     * specified position, into the first row of the board. Returns a negative
+     * number, zero or a positive number as they are less than, equal to or
+     * greater than the best board's, stopping as soon as they are greater.
+     */
+    private int firstRow(int r, int columns, int end) {
+        int[] lab = this.labels[1];
+        Arrays.fill(lab, 0);
+        int next = 1, base = r * 9, cmp = 0;
+        for (int j = 0; j < end; j++) {
+            int val = this.grid[base + COLUMNS[columns + j]];
+            if (val != 0) {
+                if (lab[val] == 0)
+                    lab[val] = next++;
+                val = lab[val];
+            }
+            if (cmp == 0) {
+                cmp = val - this.best[j];
+                if (cmp > 0)
+                    return cmp;
+            }
+            this.current[j] = val;
+        }
+        this.nextLabels[1] = next;
+        return cmp;
+    }
+
+
+    /**
+     * Fills the specified row of the board with each of the allowed rows that
+     * gives the smallest result, then searches the rows after it. When all
+     * rows are placed, the board is kept if it's smaller than the best.
+     */
+    private void place(int k) {
+        if (k == 9) {
+            if (this.diverge < 9) {
+                System.arraycopy(this.current, 0, this.best, 0, 81);
+                this.diverge = 9;
+            }
+            return;
+        }
+
+        /* The next row of the band, or the first row of an unused band */
+        int[] cand = this.candidates[k];
+        int count = 0;
+        if (k % 3 != 0) {
+            int band = this.chosen[k - 1] / 3;
+            for (int r = band * 3; r < band * 3 + 3; r++)
+                if ((this.usedRows & (1 << r)) == 0)
+                    cand[count++] = r;
+        } else {
+            for (int r = 0; r < 9; r++)
+                if ((this.usedBands & (1 << (r / 3))) == 0)
+                    cand[count++] = r;
+        }
+
+        /* Relabels each candidate, dropping rows greater than the smallest or the best */
+        int[] buffer = this.rowBuffers[k];
+        int[] lab = this.labels[k];
+        int smallest = 0;
+        for (int i = 0; i < count; i++) {
+            int next = this.nextLabels[k], base = cand[i] * 9, at = smallest * 9;
+            int[] ref = (smallest > 0) ? buffer : this.best;
+            int from = (smallest > 0) ? 0 : k * 9;
+            int cmp = (smallest > 0 || this.diverge >= k) ? 0 : -1;
+            int added = 0;
+            for (int j = 0; j < 9 && cmp <= 0; j++) {
+                int val = this.grid[base + COLUMNS[this.columns + j]];
+                if (val != 0) {
+                    if (lab[val] == 0) {
+                        lab[val] = next++;
+                        added |= 1 << val;
+                    }
+                    val = lab[val];
+                }
+                buffer[at + j] = val;
+                if (cmp == 0)
+                    cmp = val - ref[from + j];
+            }
+            for (; added != 0; added &= added - 1)
+                lab[Integer.numberOfTrailingZeros(added)] = 0;
+            if (cmp > 0)
+                continue;
+            if (smallest > 0 && cmp < 0) {
+                System.arraycopy(buffer, at, buffer, 0, 9);
+                smallest = 0;
+            }
+            cand[smallest++] = cand[i];
+        }
+        if (smallest == 0)
+            return;
+
+        /* Searches below each smallest candidate, unless greater than the best board */
+        System.arraycopy(buffer, 0, this.current, k * 9, 9);
+        for (int i = 0; i < smallest; i++) {
+            int r = cand[i];
+            if (this.diverge >= k) {
+                int cmp = 0;
+                for (int j = 0; j < 9 && cmp == 0; j++)
+                    cmp = buffer[j] - this.best[k * 9 + j];
+                if (cmp > 0)
+                    return;
+                if (cmp < 0)
+                    this.diverge = k;
+            }
+            this.relabel(k, r);
+            this.chosen[k] = r;
+            this.usedRows |= 1 << r;
+            this.usedBands |= 1 << (r / 3);
+            this.place(k + 1);
+            this.usedRows &= ~(1 << r);
+            if (k % 3 == 0)
+                this.usedBands &= ~(1 << (r / 3));
+        }
+    }
+
+
+    /**
+     * Sets the labels after the specified row to the labels before it, plus
+     * the labels of the numbers first used in the row.
+     */
+    private void relabel(int k, int r) {
+        int[] lab = this.labels[k + 1];
+        System.arraycopy(this.labels[k], 0, lab, 0, 10);
+        int next = this.nextLabels[k], base = r * 9;
+        for (int j = 0; j < 9; j++) {
+            int val = this.grid[base + COLUMNS[this.columns + j]];
+            if (val != 0 && lab[val] == 0)
+                lab[val] = next++;
+        }
+        this.nextLabels[k + 1] = next;
+    }
+
+
+    /**
+     * Returns a number that is larger the more leading empty tiles the row
+     * can be given by reordering columns: the counts of empty tiles in its
+     * three stacks, sorted from most to fewest.
+     */
+    private static int emptiness(int[] grid, int r) {
+        int a = 0, b = 0, c = 0;
+        for (int j = 0; j < 3; j++) {
+            if (grid[r * 9 + j] == 0)
+                a++;
+            if (grid[r * 9 + 3 + j] == 0)
+                b++;
+            if (grid[r * 9 + 6 + j] == 0)
+                c++;
+        }
+        int max = Math.max(a, Math.max(b, c)), min = Math.min(a, Math.min(b, c));
+        return max * 16 + (a + b + c - max - min) * 4 + min;
+    }
+
+} // End Canonicalizer class
\ No newline at end of file
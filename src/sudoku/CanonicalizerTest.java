@@ -0,0 +1,133 @@
+/**
+ * CanonicalizerTest.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Contains a test for the Canonicalizer class. Run this file from the project's
+ * root directory. Every puzzle from the five puzzle text files is canonicalized,
+ * then shuffled by a random transformation (relabelling, row, column, band and
+ * stack permutations, and transposing) and canonicalized again; the test fails
+ * if the two forms differ, or if canonicalizing a canonical form changes it.
+ * The time taken and the number of distinct classes in each file, and in all
+ * files together, are displayed.
+ *
+ * Usage: java CanonicalizerTest
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class CanonicalizerTest {
+
+    public static void main(String[] args) throws IOException {
+
+        /* Declare variables */
+        Canonicalizer canonicalizer = new Canonicalizer();
+        Random random = new Random(20161121L);
+        Set<String> all = new HashSet<>();
+        int total = 0;
+        long time = 0;
+
+        /* Canonicalizes each of the five test files */
+        for (int i = 1; i <= 5; i++) {
+            BufferedReader br = new BufferedReader(new FileReader("src/sudoku/" + i + ".txt"));
+            Set<String> classes = new HashSet<>();
+            int count = 0;
+            long start = System.nanoTime();
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.length() < 81)
+                    continue;
+                String puzzle = line.substring(0, 81);
+                String form = canonicalizer.canonicalize(puzzle);
+                if (!canonicalizer.canonicalize(shuffle(puzzle, random)).equals(form))
+                    fail("Shuffled puzzle has a different form", puzzle);
+                if (!canonicalizer.canonicalize(form).equals(form))
+                    fail("Canonical form is not canonical", puzzle);
+                classes.add(form);
+                count++;
+            }
+            br.close();
+            long elapsed = System.nanoTime() - start;
+            time += elapsed;
+            total += count;
+            all.addAll(classes);
+            System.out.printf("%d.txt: %d puzzles, %d classes, %d ms\n", i, count,
+                    classes.size(), elapsed / 1000000);
+        }
+
+        /* Display message when all tests passed */
+        System.out.printf("All files: %d puzzles, %d classes, %d ms (3 forms per puzzle)\n",
+                total, all.size(), time / 1000000);
+        System.out.println("Canonicalizer Test Passed!");
+    }
+
+
+    /**
+     * Returns the puzzle after a random transformation that keeps it in the
+     * same class.
+     */
+    private static String shuffle(String s, Random random) {
+        int[] digits = order(9, random);
+        int[] rows = lines(random), columns = lines(random);
+        boolean transpose = random.nextBoolean();
+        char[] chars = new char[81];
+        for (int r = 0; r < 9; r++)
+            for (int c = 0; c < 9; c++) {
+                int i = transpose ? columns[c] * 9 + rows[r] : rows[r] * 9 + columns[c];
+                int val = s.charAt(i) - '0';
+                chars[r * 9 + c] = (char) ('0' + ((val >= 1 && val <= 9) ? digits[val - 1] + 1 : 0));
+            }
+        return new String(chars);
+    }
+
+
+    /**
+     * Returns a random order of the 9 rows or columns that keeps bands or
+     * stacks together.
+     */
+    private static int[] lines(Random random) {
+        int[] groups = order(3, random), lines = new int[9];
+        for (int g = 0; g < 3; g++) {
+            int[] within = order(3, random);
+            for (int j = 0; j < 3; j++)
+                lines[g * 3 + j] = groups[g] * 3 + within[j];
+        }
+        return lines;
+    }
+
+
+    /**
+     * Returns a random order of the numbers 0 to n - 1.
+     */
+    private static int[] order(int n, Random random) {
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++)
+            a[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+        return a;
+    }
+
+
+    /**
+     * Prints the error message and the puzzle that failed, and stops the test.
+     */
+    private static void fail(String message, String s) {
+        System.err.println("Error - " + message + ".");
+        System.out.println("Failed Puzzle: ");
+        new SudokuPuzzle(s).print();
+        System.exit(1);
+    }
+
+} // End CanonicalizerTest class
\ No newline at end of file
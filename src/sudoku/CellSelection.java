@@ -0,0 +1,34 @@
+/**
+ * CellSelection.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Enum of the policies the Sudoku solver can use for picking the next empty
+ * cell to branch on. ROW_MAJOR takes the first empty cell, MRV takes the cell
+ * with the fewest candidates (minimum remaining values), and MRV_DEGREE breaks
+ * MRV ties by taking the cell with the most empty cells in its row, column and
+ * subgrid.
+ */
+package sudoku;
+
+
+public enum CellSelection {
+
+    ROW_MAJOR, MRV, MRV_DEGREE;
+
+
+    /**
+     * Returns the policy with the specified name, ignoring case, or MRV if the
+     * name does not match any policy.
+     *
+     * @param name The name of the policy.
+     * @return The matching cell selection policy.
+     */
+    public static CellSelection fromName(String name) {
+        for (CellSelection c : CellSelection.values()) {
+            if (c.name().equalsIgnoreCase(name))
+                return c;
+        }
+        return MRV;
+    }
+
+} // End CellSelection enum
\ No newline at end of file
@@ -0,0 +1,185 @@
+/**
+ * CellSet.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that holds a set of tiles of the 9x9 board as 81 bits in two longs:
+ * tiles 0 to 63 in the first, and 64 to 80 in the second, numbered in
+ * row-major order. Used to return tiles such as conflicting squares without
+ * building or parsing strings. Cell sets are immutable; iterate over one with
+ *     for (int i = set.first(); i >= 0; i = set.next(i))
+ */
+package sudoku;
+
+
+public final class CellSet {
+
+    /* The set holding no tiles */
+    public static final CellSet EMPTY = new CellSet(0, 0);
+
+    /* Mask of the bits used in the second word */
+    private static final long HIGH_MASK = (1L << 17) - 1;
+
+    /* Declare private members */
+    private final long low, high;
+
+
+    /* Default constructor, takes the bits of tiles 0-63 and of tiles 64-80 */
+    public CellSet(long low, long high) {
+        this.low = low;
+        this.high = high & HIGH_MASK;
+    }
+
+
+    /**
+     * Returns a set holding this set's tiles and the specified tile.
+     *
+     * @param i The index of the tile to add, from 0 to 80.
+     * @return The set with the tile added.
+     */
+    public CellSet with(int i) {
+        if (i < 64)
+            return new CellSet(this.low | (1L << i), this.high);
+        return new CellSet(this.low, this.high | (1L << (i - 64)));
+    }
+
+
+    /**
+     * Returns a set holding the tiles of both sets.
+     *
+     * @param other The other set.
+     * @return The union of the sets.
+     */
+    public CellSet union(CellSet other) {
+        return new CellSet(this.low | other.low, this.high | other.high);
+    }
+
+
+    /**
+     * Returns true if the set holds the specified tile, or false if not.
+     *
+     * @param i The index of the tile, from 0 to 80.
+     * @return True if the tile is in the set, false if not.
+     */
+    public boolean contains(int i) {
+        if (i < 64)
+            return (this.low & (1L << i)) != 0;
+        return (this.high & (1L << (i - 64))) != 0;
+    }
+
+
+    /**
+     * Returns true if the specified row and column is in the set, or false if not.
+     *
+     * @param r The row of the tile.
+     * @param c The column of the tile.
+     * @return True if the tile is in the set, false if not.
+     */
+    public boolean contains(int r, int c) {
+        return this.contains(r * 9 + c);
+    }
+
+
+    /**
+     * Returns true if the set holds no tiles, or false if not.
+     *
+     * @return True if the set is empty, false if not.
+     */
+    public boolean isEmpty() {
+        return (this.low | this.high) == 0;
+    }
+
+
+    /**
+     * Returns the number of tiles in the set.
+     *
+     * @return The size of the set, from 0 to 81.
+     */
+    public int size() {
+        return Long.bitCount(this.low) + Long.bitCount(this.high);
+    }
+
+
+    /**
+     * Returns the lowest tile in the set, or -1 if the set is empty.
+     *
+     * @return The index of the first tile, or -1 if none.
+     */
+    public int first() {
+        return this.next(-1);
+    }
+
+
+    /**
+     * Returns the lowest tile in the set after the specified one, or -1 if
+     * there are none.
+     *
+     * @param i The index of the tile to start after, or -1 to start from 0.
+     * @return The index of the next tile, or -1 if none.
+     */
+    public int next(int i) {
+        i++;
+        if (i < 64) {
+            long w = this.low & (-1L << i);
+            if (w != 0)
+                return Long.numberOfTrailingZeros(w);
+            i = 64;
+        }
+        if (i > 80)
+            return -1;
+        long w = this.high & (-1L << (i - 64));
+        return (w != 0) ? 64 + Long.numberOfTrailingZeros(w) : -1;
+    }
+
+
+    /**
+     * Returns the bits of tiles 0 to 63.
+     *
+     * @return The first word of the set.
+     */
+    public long getLow() {
+        return this.low;
+    }
+
+
+    /**
+     * Returns the bits of tiles 64 to 80.
+     *
+     * @return The second word of the set.
+     */
+    public long getHigh() {
+        return this.high;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof CellSet))
+            return false;
+        CellSet s = (CellSet) o;
+        return this.low == s.low && this.high == s.high;
+    }
+
+
+    @Override
+    public int hashCode() {
+        long h = this.low * 31 + this.high;
+        return (int) (h ^ (h >>> 32));
+    }
+
+
+    /**
+     * Returns the tiles in the set as "(row column)" pairs, for debugging.
+     *
+     * @return The string listing the tiles.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = this.first(); i >= 0; i = this.next(i))
+            sb.append('(').append(i / 9).append(' ').append(i % 9).append(") ");
+        return sb.toString();
+    }
+
+} // End CellSet class
\ No newline at end of file
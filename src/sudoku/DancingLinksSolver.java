@@ -0,0 +1,331 @@
+/**
+ * DancingLinksSolver.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that takes a Sudoku puzzle, copies and solves it using Knuth's Dancing
+ * Links (Algorithm X). The puzzle is treated as an exact cover problem with 324
+ * constraints (each cell filled, each digit once per row, column and subgrid)
+ * and 729 choices (a digit in a cell), each choice covering 4 constraints.
+ *
+ * The links are stored in flat integer arrays: node 0 is the root, nodes 1 to
+ * 324 are the constraint headers, and the remaining nodes are 4 per choice.
+ * The search keeps an explicit stack of the constraint covered and the choice
+ * tried at each depth instead of recursing. A SolveBudget limits the time and
+ * nodes each search may take, after which the solver gives up.
+ *
+ * Resources that helped:
+ * https://arxiv.org/abs/cs/0011047
+ */
+package sudoku;
+
+
+public class DancingLinksSolver implements Solver {
+
+    /* Number of constraints (columns) and choices (rows) */
+    private static final int COLUMNS = 324;
+    private static final int CHOICES = 729;
+    private static final int NODES = 1 + COLUMNS + CHOICES * 4;
+
+    /* Declare private members */
+    private final SudokuPuzzle puzzle;
+    private final int[] left, right, up, down, column, choice, size;
+    private final int[] headers, chosen;
+    private final int[] cells;
+    private int limit, found;
+    private final SolveBudget budget;
+    private long nodes;
+    private boolean gaveUp;
+    private final boolean legal;
+    private final boolean solvable;
+
+
+    /* Default constructor */
+    public DancingLinksSolver(SudokuPuzzle p) {
+        this(p, SolveBudget.UNLIMITED);
+    }
+
+
+    /* Secondary constructor, takes the limits each search must stay within */
+    public DancingLinksSolver(SudokuPuzzle p, SolveBudget budget) {
+        this.puzzle = new SudokuPuzzle(p.initialPuzzleState());
+        this.left = new int[NODES];
+        this.right = new int[NODES];
+        this.up = new int[NODES];
+        this.down = new int[NODES];
+        this.column = new int[NODES];
+        this.choice = new int[NODES];
+        this.size = new int[COLUMNS + 1];
+        this.headers = new int[81];
+        this.chosen = new int[81];
+        this.cells = new int[81];
+        this.budget = budget;
+        this.build();
+        this.legal = this.load(this.puzzle.toArray());
+        this.solvable = this.countSolutions(1) == 1;
+    }
+
+
+    /**
+     * Returns true if the Sudoku puzzle was able to be solved, or false if not.
+     *
+     * @return True if the puzzle can be solved, false if not.
+     */
+    @Override
+    public boolean isSolvable() {
+        return this.solvable;
+    }
+
+
+    /**
+     * Returns the solved Sudoku puzzle, or null if the puzzle couldn't be solved.
+     * The puzzle returned is a copy of the Sudoku puzzle passed into the constructor,
+     * but in a solved state. Each call returns a new copy, so changing it has no
+     * effect on the solver or on the puzzles returned by other calls.
+     *
+     * @return A copy of the Sudoku puzzle in a solved state, or null if not solvable.
+     */
+    @Override
+    public SudokuPuzzle getSolution() {
+        if (!this.solvable)
+            return null;
+        int[][] board = new int[9][9];
+        for (int i = 0; i < 81; i++)
+            board[i / 9][i % 9] = this.cells[i];
+        SudokuPuzzle p = new SudokuPuzzle(this.puzzle.initialPuzzleState());
+        p.setArray(board);
+        return p;
+    }
+
+
+    /**
+     * Counts the solutions of the puzzle, stopping as soon as the limit is
+     * reached. Checking whether a puzzle has exactly one solution only needs
+     * a limit of 2.
+     *
+     * @param limit The number of solutions to stop searching at.
+     * @return The number of solutions found, at most the limit.
+     */
+    @Override
+    public int countSolutions(int limit) {
+        this.found = 0;
+        this.nodes = 0;
+        this.gaveUp = false;
+        if (!this.legal || limit < 1)
+            return 0;
+        this.limit = limit;
+        this.search(System.nanoTime());
+        return this.found;
+    }
+
+
+    /**
+     * Returns the outcome of the last search, either the solve done when the
+     * solver was created or the last call to countSolutions().
+     *
+     * @return The status of the last search.
+     */
+    @Override
+    public SolveStatus getStatus() {
+        if (this.gaveUp)
+            return SolveStatus.GAVE_UP;
+        return (this.found > 0) ? SolveStatus.SOLVED : SolveStatus.UNSOLVABLE;
+    }
+
+
+    /**
+     * Builds the links for the full exact cover matrix, with every choice still
+     * available.
+     */
+    private void build() {
+
+        /* Links the constraint headers in a ring around the root */
+        for (int i = 0; i <= COLUMNS; i++) {
+            this.left[i] = (i == 0) ? COLUMNS : i - 1;
+            this.right[i] = (i == COLUMNS) ? 0 : i + 1;
+            this.up[i] = i;
+            this.down[i] = i;
+            this.column[i] = i;
+        }
+
+        /* Adds the 4 nodes of each choice, linked in a ring and into their columns */
+        int node = COLUMNS + 1;
+        for (int ch = 0; ch < CHOICES; ch++) {
+            int cell = ch / 9, d = ch % 9;
+            int r = cell / 9, c = cell % 9, b = (r / 3) * 3 + c / 3;
+            int[] cols = {1 + cell, 82 + r * 9 + d, 163 + c * 9 + d, 244 + b * 9 + d};
+            for (int k = 0; k < 4; k++) {
+                int n = node + k;
+                int h = cols[k];
+                this.column[n] = h;
+                this.choice[n] = ch;
+                this.left[n] = node + (k + 3) % 4;
+                this.right[n] = node + (k + 1) % 4;
+                this.up[n] = this.up[h];
+                this.down[n] = h;
+                this.down[this.up[h]] = n;
+                this.up[h] = n;
+                this.size[h]++;
+            }
+            node += 4;
+        }
+    }
+
+
+    /**
+     * Removes the choices for the given digits from the matrix. Returns false if
+     * two given digits share a constraint.
+     */
+    private boolean load(int[][] board) {
+        for (int i = 0; i < 81; i++) {
+            int val = board[i / 9][i % 9];
+            if (val < 1 || val > 9)
+                continue;
+
+            /* Finds the choice's first node; a covered constraint means a duplicate */
+            int first = COLUMNS + 1 + (i * 9 + val - 1) * 4;
+            for (int n = first; n < first + 4; n++) {
+                if (this.isCovered(this.column[n]))
+                    return false;
+            }
+            for (int n = first; n < first + 4; n++)
+                this.cover(this.column[n]);
+            this.cells[i] = val;
+        }
+        return true;
+    }
+
+
+    /**
+     * Returns true if the constraint header has already been unlinked from the
+     * header ring.
+     */
+    private boolean isCovered(int h) {
+        return this.right[this.left[h]] != h;
+    }
+
+
+    /**
+     * Algorithm X: picks the constraint with the fewest choices left, and tries
+     * each of its choices in turn. The constraint covered at depth k is kept in
+     * headers[k] and the choice being tried in chosen[k] (the header itself
+     * before any choice is tried). Stops once the limit of solutions is reached
+     * or the budget runs out; the links are always restored before returning.
+     */
+    private void search(long start) {
+        int k = 0, steps = 0;
+        boolean descending = true;
+        while (true) {
+
+            /* Entering depth k for the first time */
+            if (descending) {
+
+                /* Checks the budget now and then */
+                if ((++steps & 0xFF) == 0 && this.budget.isExhausted(start, this.nodes)) {
+                    this.gaveUp = true;
+                    break;
+                }
+
+                /* All constraints are covered, the chosen rows of the first solution are kept */
+                if (this.right[0] == 0) {
+                    if (this.found == 0) {
+                        for (int i = 0; i < k; i++) {
+                            int ch = this.choice[this.chosen[i]];
+                            this.cells[ch / 9] = ch % 9 + 1;
+                        }
+                    }
+                    this.found++;
+                    if (this.found >= this.limit)
+                        break;
+                    descending = false;
+                    if (--k < 0)
+                        return;
+                    continue;
+                }
+
+                /* Picks the constraint with the fewest choices, none left is a dead end */
+                int h = this.right[0];
+                for (int j = this.right[h]; j != 0; j = this.right[j]) {
+                    if (this.size[j] < this.size[h])
+                        h = j;
+                }
+                if (this.size[h] == 0) {
+                    descending = false;
+                    if (--k < 0)
+                        return;
+                    continue;
+                }
+                this.cover(h);
+                this.headers[k] = h;
+                this.chosen[k] = h;
+            }
+
+            /* Takes back the choice tried last at this depth */
+            int h = this.headers[k];
+            int r = this.chosen[k];
+            if (r != h) {
+                for (int j = this.left[r]; j != r; j = this.left[j])
+                    this.uncover(this.column[j]);
+            }
+
+            /* No choices left to try, backtrack */
+            r = this.down[r];
+            if (r == h) {
+                this.uncover(h);
+                descending = false;
+                if (--k < 0)
+                    return;
+                continue;
+            }
+
+            /* Tries the next choice and moves one level deeper */
+            this.chosen[k] = r;
+            for (int j = this.right[r]; j != r; j = this.right[j])
+                this.cover(this.column[j]);
+            this.nodes++;
+            k++;
+            descending = true;
+        }
+
+        /* The limit was reached or the budget ran out, restores every link covered */
+        for (int d = k - 1; d >= 0; d--) {
+            int r = this.chosen[d];
+            for (int j = this.left[r]; j != r; j = this.left[j])
+                this.uncover(this.column[j]);
+            this.uncover(this.headers[d]);
+        }
+    }
+
+
+    /**
+     * Unlinks the constraint header, and every choice covering it from the
+     * other constraints.
+     */
+    private void cover(int h) {
+        this.right[this.left[h]] = this.right[h];
+        this.left[this.right[h]] = this.left[h];
+        for (int i = this.down[h]; i != h; i = this.down[i]) {
+            for (int j = this.right[i]; j != i; j = this.right[j]) {
+                this.down[this.up[j]] = this.down[j];
+                this.up[this.down[j]] = this.up[j];
+                this.size[this.column[j]]--;
+            }
+        }
+    }
+
+
+    /**
+     * Relinks the constraint header and its choices, undoing cover().
+     */
+    private void uncover(int h) {
+        for (int i = this.up[h]; i != h; i = this.up[i]) {
+            for (int j = this.left[i]; j != i; j = this.left[j]) {
+                this.size[this.column[j]]++;
+                this.down[this.up[j]] = j;
+                this.up[this.down[j]] = j;
+            }
+        }
+        this.right[this.left[h]] = h;
+        this.left[this.right[h]] = h;
+    }
+
+} // End DancingLinksSolver class
\ No newline at end of file
@@ -80,7 +80,6 @@ public class FileUtility {
         String line;
         SudokuPuzzle p;
         int[][] board;
-        int k;
         BufferedReader reader = null;
 
         /* Attempts to load the saved game from the file */
@@ -95,17 +94,12 @@ public class FileUtility {
             line = reader.readLine();
             p = new SudokuPuzzle(line);
 
-            /* Creates a 2-d int array to store the saved game state */
+            /* Reads the saved game state into a 2-d int array, rejects damaged states */
             line = reader.readLine();
-            k = 0;
+            if (!PuzzleCodec.isWellFormed(line))
+                throw new IOException("Malformed puzzle state");
             board = new int[9][9];
-
-            /* Reads the state by each character, loads the array */
-            for (int i = 0; i < 9; i++) {
-                for (int j = 0; j < 9; j++) {
-                    board[i][j] = Integer.parseInt(Character.toString(line.charAt(k++)));
-                }
-            }
+            PuzzleCodec.decode(line, board);
 
             /* Sets the puzzle's difficulty */
             line = reader.readLine();
@@ -5,7 +5,8 @@
  * Class that contains a GUI for the difficulty selection screen. Appears when
  * the user clicks the new game option from the home menu. Contains five buttons
  * that the user can click for the corresponding difficulty, and also a back
- * button that brings the user back to the home menu.
+ * button that brings the user back to the home menu. The puzzles are taken
+ * from the PuzzleSupplier of each difficulty, already drawn and solved.
  */
 package sudoku;
 
@@ -44,6 +45,24 @@ public class LevelFrame extends JFrame {
         this.setVisible(true);
     }
 
+
+    /**
+     * Starts a game of the specified difficulty, taken from its supplier. An
+     * error message is shown instead if no puzzle could be generated.
+     */
+    private void startGame(int difficulty) {
+        PreparedPuzzle p = PuzzleSupplier.forDifficulty(difficulty).take();
+        if (p == null) {
+            WindowUtility.errorMessage("Failed to generate a new puzzle.", "Error!");
+            return;
+        }
+        try {
+            SudokuFrame f = new SudokuFrame(p.getPuzzle(), p.getSolver(), true,
+                    FileUtility.PATH + "saved.dat", this.getX(), this.getY());
+            this.dispose();
+        } catch(Exception e) {/* Ignore exceptions */}
+    }
+
     /**
      * This method is called from within the constructor to initialize the form.
      * WARNING: Do NOT modify this code. The content of this method is always
@@ -182,53 +201,23 @@ public class LevelFrame extends JFrame {
     // <editor-fold defaultstate="collapsed" desc="Button Action Event Handling">
     /* Invoked when the user clicks 'Novice'; starts a novice puzzle */
     private void noviceButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_noviceButtonActionPerformed
-        try {
-            SudokuGenerator gen = new SudokuGenerator(1);
-            SudokuPuzzle p = gen.getPuzzle();
-            SudokuFrame f = new SudokuFrame(p, true, FileUtility.PATH + "saved.dat",
-                    this.getX(), this.getY());
-            this.dispose();
-        } catch(Exception e) {/* Ignore exceptions */}
+        this.startGame(1);
     }//GEN-LAST:event_noviceButtonActionPerformed
     /* Invoked when the user clicks 'Easy'; starts an easy puzzle */
     private void easyButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_easyButtonActionPerformed
-        try {
-            SudokuGenerator gen = new SudokuGenerator(2);
-            SudokuPuzzle p = gen.getPuzzle();
-            SudokuFrame f = new SudokuFrame(p, true, FileUtility.PATH + "saved.dat",
-                    this.getX(), this.getY());
-            this.dispose();
-        } catch(Exception e) {/* Ignore exceptions */}
+        this.startGame(2);
     }//GEN-LAST:event_easyButtonActionPerformed
     /* Invoked when the user clicks 'Medium'; starts a medium puzzle */
     private void mediumButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_mediumButtonActionPerformed
-        try {
-            SudokuGenerator gen = new SudokuGenerator(3);
-            SudokuPuzzle p = gen.getPuzzle();
-            SudokuFrame f = new SudokuFrame(p, true, FileUtility.PATH + "saved.dat",
-                    this.getX(), this.getY());
-            this.dispose();
-        } catch(Exception e) {/* Ignore exceptions */}
+        this.startGame(3);
     }//GEN-LAST:event_mediumButtonActionPerformed
     /* Invoked when the user clicks 'Hard'; starts a hard puzzle */
     private void hardButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_hardButtonActionPerformed
-        try {
-            SudokuGenerator gen = new SudokuGenerator(4);
-            SudokuPuzzle p = gen.getPuzzle();
-            SudokuFrame f = new SudokuFrame(p, true, FileUtility.PATH + "saved.dat",
-                    this.getX(), this.getY());
-            this.dispose();
-        } catch(Exception e) {/* Ignore exceptions */}
+        this.startGame(4);
     }//GEN-LAST:event_hardButtonActionPerformed
     /* Invoked when the user clicks 'Expert'; starts an expert puzzle */
     private void expertButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_expertButtonActionPerformed
-        try {
-            SudokuGenerator gen = new SudokuGenerator(5);
-            SudokuPuzzle p = gen.getPuzzle();
-            SudokuFrame f = new SudokuFrame(p, true, FileUtility.PATH + "saved.dat",
-                    this.getX(), this.getY());
-            this.dispose();
-        } catch(Exception e) {/* Ignore exceptions */}
+        this.startGame(5);
     }//GEN-LAST:event_expertButtonActionPerformed
     /* Invoked when the user clicks the back button, returns to the home menu */
     private void backButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_backButtonActionPerformed
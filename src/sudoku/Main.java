@@ -48,6 +48,9 @@ public class Main {
         FileUtility.loadSettings();
         FileUtility.loadBestTimes();
 
+        /* Starts preparing new games in the background */
+        PuzzleSupplier.startAll();
+
         /* Creates a new window */
         MainFrame f = new MainFrame(360, 30);
     }
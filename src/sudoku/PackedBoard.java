@@ -0,0 +1,257 @@
+/**
+ * PackedBoard.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that holds the 81 numbers of a Sudoku board packed into 4 bits each:
+ * 16 tiles per long in five longs, and the last tile in a byte. A packed board
+ * takes about 60 bytes of heap, against about a kilobyte for a SudokuPuzzle
+ * with its 2-d array, string and masks, so it is meant for keeping large sets
+ * of puzzles in memory. Packed boards are immutable, and convert quickly to and
+ * from the 81-character string format and 2-d arrays.
+ */
+package sudoku;
+
+
+public final class PackedBoard {
+
+    /* Declare private members, tile i is at bits 4*(i%16) of word i/16 */
+    private final long w0, w1, w2, w3, w4;
+    private final byte last;
+
+
+    /* Default constructor, takes the 81-character string of the board */
+    public PackedBoard(CharSequence s) {
+        if (s.length() < 81)
+            throw new IllegalArgumentException("Expected 81 characters, got " + s.length());
+        this.w0 = pack(s, 0);
+        this.w1 = pack(s, 16);
+        this.w2 = pack(s, 32);
+        this.w3 = pack(s, 48);
+        this.w4 = pack(s, 64);
+        this.last = (byte) digit(s.charAt(80));
+    }
+
+
+    /* Secondary constructor, takes the 9x9 array of the board */
+    public PackedBoard(int[][] board) {
+        this.w0 = pack(board, 0);
+        this.w1 = pack(board, 16);
+        this.w2 = pack(board, 32);
+        this.w3 = pack(board, 48);
+        this.w4 = pack(board, 64);
+        this.last = (byte) value(board[8][8]);
+    }
+
+
+    /* Private constructor, takes the packed words */
+    private PackedBoard(long w0, long w1, long w2, long w3, long w4, byte last) {
+        this.w0 = w0;
+        this.w1 = w1;
+        this.w2 = w2;
+        this.w3 = w3;
+        this.w4 = w4;
+        this.last = last;
+    }
+
+
+    /**
+     * Returns the number in the specified tile, or 0 if it's empty. Tiles are
+     * numbered 0 to 80 in row-major order.
+     *
+     * @param i The index of the tile.
+     * @return The number in the tile, or 0 if it's empty.
+     */
+    public int get(int i) {
+        if (i == 80)
+            return this.last;
+        return (int) (this.word(i >> 4) >>> ((i & 15) << 2)) & 0xF;
+    }
+
+
+    /**
+     * Returns the number at the specified row and column, or 0 if it's empty.
+     *
+     * @param r The row of the tile.
+     * @param c The column of the tile.
+     * @return The number in the tile, or 0 if it's empty.
+     */
+    public int get(int r, int c) {
+        return this.get(r * 9 + c);
+    }
+
+
+    /**
+     * Returns a board equal to this one, but with the specified tile set to
+     * the number, or emptied if the number is 0.
+     *
+     * @param i The index of the tile.
+     * @param val The number to set, or 0 to empty the tile.
+     * @return The board with the tile changed.
+     */
+    public PackedBoard with(int i, int val) {
+        val = value(val);
+        if (i == 80)
+            return new PackedBoard(this.w0, this.w1, this.w2, this.w3, this.w4, (byte) val);
+        int shift = (i & 15) << 2;
+        long w = (this.word(i >> 4) & ~(0xFL << shift)) | ((long) val << shift);
+        switch (i >> 4) {
+            case 0:
+                return new PackedBoard(w, this.w1, this.w2, this.w3, this.w4, this.last);
+            case 1:
+                return new PackedBoard(this.w0, w, this.w2, this.w3, this.w4, this.last);
+            case 2:
+                return new PackedBoard(this.w0, this.w1, w, this.w3, this.w4, this.last);
+            case 3:
+                return new PackedBoard(this.w0, this.w1, this.w2, w, this.w4, this.last);
+            default:
+                return new PackedBoard(this.w0, this.w1, this.w2, this.w3, w, this.last);
+        }
+    }
+
+
+    /**
+     * Returns the number of tiles holding a number 1-9.
+     *
+     * @return The number of filled tiles, from 0-81.
+     */
+    public int getNumberFilled() {
+        return filled(this.w0) + filled(this.w1) + filled(this.w2) + filled(this.w3)
+                + filled(this.w4) + (this.last != 0 ? 1 : 0);
+    }
+
+
+    /**
+     * Returns a new 9x9 array holding the numbers of the board.
+     *
+     * @return The 2-d array of the board.
+     */
+    public int[][] toArray() {
+        int[][] board = new int[9][9];
+        for (int i = 0; i < 81; i++)
+            board[i / 9][i % 9] = this.get(i);
+        return board;
+    }
+
+
+    /**
+     * Returns a new Sudoku puzzle whose initial state is this board.
+     *
+     * @return The unpacked Sudoku puzzle.
+     */
+    public SudokuPuzzle toPuzzle() {
+        return new SudokuPuzzle(this.toString());
+    }
+
+
+    /**
+     * Returns the 81-character string of the board, with '0' for empty tiles.
+     *
+     * @return The string representing the board.
+     */
+    @Override
+    public String toString() {
+        char[] chars = new char[81];
+        for (int k = 0; k < 5; k++) {
+            long w = this.word(k);
+            for (int j = 0; j < 16; j++) {
+                chars[k * 16 + j] = (char) ('0' + (w & 0xF));
+                w >>>= 4;
+            }
+        }
+        chars[80] = (char) ('0' + this.last);
+        return new String(chars);
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof PackedBoard))
+            return false;
+        PackedBoard b = (PackedBoard) o;
+        return this.w0 == b.w0 && this.w1 == b.w1 && this.w2 == b.w2 && this.w3 == b.w3
+                && this.w4 == b.w4 && this.last == b.last;
+    }
+
+
+    @Override
+    public int hashCode() {
+        long h = this.w0;
+        h = h * 31 + this.w1;
+        h = h * 31 + this.w2;
+        h = h * 31 + this.w3;
+        h = h * 31 + this.w4;
+        h = h * 31 + this.last;
+        return (int) (h ^ (h >>> 32));
+    }
+
+
+    /**
+     * Returns the specified word of the packed tiles, from 0 to 4.
+     */
+    private long word(int k) {
+        switch (k) {
+            case 0:
+                return this.w0;
+            case 1:
+                return this.w1;
+            case 2:
+                return this.w2;
+            case 3:
+                return this.w3;
+            default:
+                return this.w4;
+        }
+    }
+
+
+    /**
+     * Packs the 16 characters of the string starting at the index into a word.
+     */
+    private static long pack(CharSequence s, int from) {
+        long w = 0;
+        for (int j = 15; j >= 0; j--)
+            w = (w << 4) | digit(s.charAt(from + j));
+        return w;
+    }
+
+
+    /**
+     * Packs the 16 tiles of the array starting at the index into a word.
+     */
+    private static long pack(int[][] board, int from) {
+        long w = 0;
+        for (int j = 15; j >= 0; j--) {
+            int i = from + j;
+            w = (w << 4) | value(board[i / 9][i % 9]);
+        }
+        return w;
+    }
+
+
+    /**
+     * Returns the number written by the character, or 0 if it is not 1-9.
+     */
+    private static int digit(char ch) {
+        return (ch >= '1' && ch <= '9') ? ch - '0' : 0;
+    }
+
+
+    /**
+     * Returns the number if it is 1-9, or 0 if not.
+     */
+    private static int value(int val) {
+        return (val >= 1 && val <= 9) ? val : 0;
+    }
+
+
+    /**
+     * Returns the number of non-zero nibbles in the word.
+     */
+    private static int filled(long w) {
+        long nonZero = (w | (w >>> 1) | (w >>> 2) | (w >>> 3)) & 0x1111111111111111L;
+        return Long.bitCount(nonZero);
+    }
+
+} // End PackedBoard class
\ No newline at end of file
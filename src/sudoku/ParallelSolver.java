@@ -0,0 +1,270 @@
+/**
+ * ParallelSolver.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that takes a Sudoku puzzle, copies and solves it using several threads.
+ * The search tree is split at its first branching points: the cell picked by
+ * the selection policy is filled with each of its candidates in turn, and each
+ * choice becomes a fork/join subtask searched with its own SolverContext. Idle
+ * threads steal the subtasks left over by busy ones. Once enough solutions are
+ * found (the first one, or the second one when checking for uniqueness), the
+ * remaining subtasks are cancelled. With a SolveBudget, the time limit and the
+ * token apply to the whole search, and the node limit to each subtask.
+ *
+ * Only worth it for the few puzzles taking a long time to search; most puzzles
+ * are solved by propagation alone, and are faster to solve with SudokuSolver.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ParallelSolver implements Solver {
+
+    /* Number of subtasks created for each thread of the pool */
+    private static final int TASKS_PER_THREAD = 8;
+
+    /* Declare private members */
+    private final SudokuPuzzle puzzle;
+    private final ForkJoinPool pool;
+    private final CellSelection selection;
+    private final SolveBudget budget;
+    private final SolverContext root;
+    private final AtomicReference<int[]> first;
+    private SolveStatus status;
+    private final boolean solvable;
+
+
+    /* Default constructor, uses the common fork/join pool */
+    public ParallelSolver(SudokuPuzzle p) {
+        this(p, ForkJoinPool.commonPool());
+    }
+
+
+    /* Secondary constructor, takes the pool to search on */
+    public ParallelSolver(SudokuPuzzle p, ForkJoinPool pool) {
+        this(p, pool, CellSelection.MRV);
+    }
+
+
+    /* Tertiary constructor, takes the pool and the policy for picking the next cell to fill */
+    public ParallelSolver(SudokuPuzzle p, ForkJoinPool pool, CellSelection selection) {
+        this(p, pool, selection, SolveBudget.UNLIMITED);
+    }
+
+
+    /* Quaternary constructor, takes the limits each search must stay within */
+    public ParallelSolver(SudokuPuzzle p, ForkJoinPool pool, CellSelection selection,
+            SolveBudget budget) {
+        this.puzzle = new SudokuPuzzle(p.initialPuzzleState());
+        this.pool = pool;
+        this.selection = selection;
+        this.budget = budget;
+        this.root = new SolverContext(selection);
+        this.first = new AtomicReference<>();
+        this.root.reset(this.puzzle);
+        this.solvable = this.countSolutions(1) == 1;
+    }
+
+
+    /**
+     * Returns true if the Sudoku puzzle was able to be solved, or false if not.
+     *
+     * @return True if the puzzle can be solved, false if not.
+     */
+    @Override
+    public boolean isSolvable() {
+        return this.solvable;
+    }
+
+
+    /**
+     * Returns the solved Sudoku puzzle, or null if th puzzle couldn't be solved.
+     * The puzzle returned is a copy of the Sudoku puzzle passed into the constructor,
+     * but in a solved state. Each call returns a new copy, so changing it has no
+     * effect on the solver or on the puzzles returned by other calls.
+     *
+     * @return A copy of the Sudoku puzzle in a solved state, or null if not solvable.
+     */
+    @Override
+    public SudokuPuzzle getSolution() {
+        if (!this.solvable)
+            return null;
+        int[] values = this.first.get();
+        int[][] board = new int[9][9];
+        for (int i = 0; i < 81; i++)
+            board[i / 9][i % 9] = values[i];
+        SudokuPuzzle p = new SudokuPuzzle(this.puzzle.initialPuzzleState());
+        p.setArray(board);
+        return p;
+    }
+
+
+    /**
+     * Counts the solutions of the puzzle in parallel, stopping every subtask
+     * as soon as the limit is reached. Checking whether a puzzle has exactly
+     * one solution only needs a limit of 2.
+     *
+     * @param limit The number of solutions to stop searching at.
+     * @return The number of solutions found, at most the limit.
+     */
+    @Override
+    public int countSolutions(int limit) {
+        this.status = SolveStatus.UNSOLVABLE;
+        if (limit < 1)
+            return 0;
+        Search search = new Search(limit, System.nanoTime());
+        int tasks = this.pool.getParallelism() * TASKS_PER_THREAD;
+        this.pool.invoke(new SearchTask(search, this.root, tasks));
+        int count = Math.min(search.total.get(), limit);
+        if (count >= limit)
+            this.status = SolveStatus.SOLVED;
+        else if (search.gaveUp.get())
+            this.status = SolveStatus.GAVE_UP;
+        else if (count > 0)
+            this.status = SolveStatus.SOLVED;
+        return count;
+    }
+
+
+    /**
+     * Returns the outcome of the last search, either the solve done when the
+     * solver was created or the last call to countSolutions().
+     *
+     * @return The status of the last search.
+     */
+    @Override
+    public SolveStatus getStatus() {
+        return this.status;
+    }
+
+
+    /**
+     * Returns the number of threads the puzzle is searched with.
+     *
+     * @return The number of searching threads.
+     */
+    public int getParallelism() {
+        return this.pool.getParallelism();
+    }
+
+
+    /**
+     * State shared by all subtasks of one search: the time it started, the
+     * number of solutions found so far, the flag telling the subtasks to stop,
+     * and whether a subtask ran out of the budget.
+     */
+    private static class Search {
+
+        /* Declare members */
+        final int limit;
+        final long start;
+        final AtomicInteger total = new AtomicInteger();
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicBoolean gaveUp = new AtomicBoolean();
+
+
+        /* Default constructor */
+        Search(int limit, long start) {
+            this.limit = limit;
+            this.start = start;
+        }
+    }
+
+
+    /**
+     * Fork/join task that searches the subtree below a partly filled board.
+     * While its budget allows, the task branches on the next cell and forks a
+     * subtask for each candidate, dividing the budget among them; otherwise
+     * it searches the subtree itself.
+     */
+    private class SearchTask extends RecursiveAction {
+
+        /* Declare private members */
+        private final Search search;
+        private final SolverContext context;
+        private final int tasks;
+
+
+        /* Default constructor */
+        SearchTask(Search search, SolverContext context, int tasks) {
+            this.search = search;
+            this.context = context;
+            this.tasks = tasks;
+        }
+
+
+        @Override
+        protected void compute() {
+            if (this.search.stop.get())
+                return;
+            int cell = this.context.branchCell();
+            if (cell == -2)
+                return;
+
+            /* Gives up if the time ran out or the token was cancelled */
+            SolveBudget budget = ParallelSolver.this.budget;
+            long left = 0;
+            if (budget.getTimeoutMillis() > 0) {
+                long elapsed = (System.nanoTime() - this.search.start) / 1000000;
+                left = budget.getTimeoutMillis() - elapsed;
+            }
+            if (left < 0 || budget.isExhausted(this.search.start, 0)) {
+                this.search.gaveUp.set(true);
+                this.search.stop.set(true);
+                return;
+            }
+
+            /* Small enough, or nothing left to branch on: searches directly */
+            if (cell == -1 || this.tasks <= 1) {
+                SolverContext leaf = new SolverContext(ParallelSolver.this.selection);
+                leaf.copyFrom(this.context);
+                leaf.setStopFlag(this.search.stop);
+                long timeout = (budget.getTimeoutMillis() > 0) ? Math.max(1, left) : 0;
+                leaf.setBudget(new SolveBudget(timeout, budget.getMaxNodes(), budget.getToken()));
+                this.record(leaf, leaf.countSolutions(this.search.limit));
+                if (leaf.getStatus() == SolveStatus.GAVE_UP) {
+                    this.search.gaveUp.set(true);
+                    this.search.stop.set(true);
+                }
+                return;
+            }
+
+            /* Forks a subtask for each candidate of the branching cell */
+            int free = this.context.getCandidates(cell);
+            int share = Math.max(1, this.tasks / Integer.bitCount(free));
+            List<SearchTask> tasks = new ArrayList<>();
+            for (int bits = free; bits != 0; bits &= bits - 1) {
+                SolverContext child = new SolverContext(ParallelSolver.this.selection);
+                child.copyFrom(this.context);
+                if (child.assign(cell, Integer.numberOfTrailingZeros(bits) + 1))
+                    tasks.add(new SearchTask(this.search, child, share));
+            }
+            invokeAll(tasks);
+        }
+
+
+        /**
+         * Adds the solutions found by a subtask to the total, keeping the first
+         * solution, and stops the other subtasks once the limit is reached.
+         */
+        private void record(SolverContext leaf, int count) {
+            if (count == 0)
+                return;
+            int[] values = new int[81];
+            for (int i = 0; i < 81; i++)
+                values[i] = leaf.getSolutionValue(i);
+            ParallelSolver.this.first.compareAndSet(null, values);
+            if (this.search.total.addAndGet(count) >= this.search.limit)
+                this.search.stop.set(true);
+        }
+    }
+
+} // End ParallelSolver class
\ No newline at end of file
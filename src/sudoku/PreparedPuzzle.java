@@ -0,0 +1,45 @@
+/**
+ * PreparedPuzzle.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that holds a new game ready to be played: a puzzle drawn from the
+ * generator, and the solver that has already solved it. Handed out by a
+ * PuzzleSupplier so that starting a game needs no reading or solving.
+ */
+package sudoku;
+
+
+public class PreparedPuzzle {
+
+    /* Declare private members */
+    private final SudokuPuzzle puzzle;
+    private final Solver solver;
+
+
+    /* Default constructor */
+    public PreparedPuzzle(SudokuPuzzle puzzle, Solver solver) {
+        this.puzzle = puzzle;
+        this.solver = solver;
+    }
+
+
+    /**
+     * Returns the puzzle to be played, in its initial state.
+     *
+     * @return The new Sudoku puzzle.
+     */
+    public SudokuPuzzle getPuzzle() {
+        return this.puzzle;
+    }
+
+
+    /**
+     * Returns the solver that solved the puzzle, used for hints and solutions.
+     *
+     * @return The puzzle's solver.
+     */
+    public Solver getSolver() {
+        return this.solver;
+    }
+
+} // End PreparedPuzzle class
\ No newline at end of file
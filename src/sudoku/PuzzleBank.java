@@ -0,0 +1,52 @@
+/**
+ * PuzzleBank.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Interface shared by the stores of ready-made puzzles that SudokuGenerator
+ * picks new games from. A bank holds a fixed number of puzzles, and any one of
+ * them can be read by its index without reading the puzzles before it.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.IOException;
+
+public interface PuzzleBank {
+
+    /**
+     * Returns the number of puzzles in the bank.
+     *
+     * @return The number of puzzles.
+     */
+    int size();
+
+
+    /**
+     * Returns the 81-character string of the puzzle at the specified index.
+     *
+     * @param index The index of the puzzle, from 0 to size() - 1.
+     * @return The string representing the puzzle's initial state.
+     * @throws IOException If the puzzle could not be read.
+     */
+    String get(int index) throws IOException;
+
+
+    /**
+     * Loads the puzzle at the specified index into the Sudoku puzzle, as both
+     * its initial and current state, reusing the puzzle's own board. Banks
+     * that can read a puzzle without going through its string override this.
+     *
+     * @param index The index of the puzzle, from 0 to size() - 1.
+     * @param p The Sudoku puzzle to load the puzzle into.
+     * @throws IOException If the puzzle could not be read.
+     */
+    default void decode(int index, SudokuPuzzle p) throws IOException {
+        String s = this.get(index);
+        int[][] board = p.toArray();
+        PuzzleCodec.decode(s, board);
+        p.setArray(board);
+        p.setInitialPuzzleState(s);
+    }
+
+} // End PuzzleBank interface
\ No newline at end of file
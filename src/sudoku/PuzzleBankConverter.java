@@ -0,0 +1,60 @@
+/**
+ * PuzzleBankConverter.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Tool that converts the five text puzzle banks, 1.txt to 5.txt, into the
+ * binary banks 1.bank to 5.bank read by SudokuGenerator. Run this file from
+ * the project's root directory after changing any of the text banks. Each
+ * binary bank is read back, verified and compared with its text bank before
+ * the tool moves on, and the size of both is displayed. The optional argument
+ * is the directory holding the banks (src/sudoku by default).
+ *
+ * Usage: java PuzzleBankConverter [DIRECTORY]
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PuzzleBankConverter {
+
+    public static void main(String[] args) throws IOException {
+
+        /* Declare variables */
+        Path dir = Paths.get((args.length > 0) ? args[0] : "src/sudoku");
+
+        /* Converts each of the five text banks */
+        for (int i = 1; i <= 5; i++) {
+            Path text = dir.resolve(i + ".txt"), bank = dir.resolve(i + ".bank");
+            List<String> puzzles = new ArrayList<>();
+            for (String line : Files.readAllLines(text)) {
+                if (!PuzzleCodec.isWellFormed(line))
+                    throw new IOException(text + ": not a puzzle: " + line);
+                puzzles.add(line.substring(0, PuzzleCodec.LENGTH));
+            }
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(bank))) {
+                BinaryPuzzleBank.write(puzzles, i, out);
+            }
+
+            /* Reads the binary bank back, stops if any puzzle differs */
+            BinaryPuzzleBank check = new BinaryPuzzleBank(Files.readAllBytes(bank));
+            check.verify();
+            if (check.size() != puzzles.size() || check.getDifficulty() != i)
+                throw new IOException(bank + ": wrong header");
+            for (int k = 0; k < puzzles.size(); k++)
+                if (!check.get(k).equals(puzzles.get(k)))
+                    throw new IOException(bank + ": puzzle " + k + " differs");
+            System.out.printf("%s: %d puzzles, %d bytes -> %s: %d bytes\n", text.getFileName(),
+                    puzzles.size(), Files.size(text), bank.getFileName(), Files.size(bank));
+        }
+    }
+
+} // End PuzzleBankConverter class
\ No newline at end of file
@@ -0,0 +1,166 @@
+/**
+ * PuzzleBankTest.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Contains a test for the puzzle banks. Run this file from the project's root
+ * directory. For each difficulty, every puzzle of the text bank N.txt, read
+ * from the file and from memory, and of the binary bank N.bank, mapped from
+ * the file, must equal the line of the text file; the binary bank is also read
+ * into a reused array and as a packed board, and both kinds of bank into a
+ * reused SudokuPuzzle. A damaged binary bank, with one byte of a puzzle
+ * changed, cut short or not a bank at all, must be rejected. Finally, several
+ * threads read random puzzles from one mapped bank at once, and every puzzle
+ * read must be correct. The optional arguments are the number of threads (4 by
+ * default) and the number of puzzles each thread reads (200,000 by default).
+ *
+ * Usage: java PuzzleBankTest [THREADS] [READS]
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PuzzleBankTest {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        /* Declare variables, the board is reused for every puzzle */
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        int reads = (args.length > 1) ? Integer.parseInt(args[1]) : 200000;
+        int[][] board = new int[9][9];
+        SudokuPuzzle reused = new SudokuPuzzle();
+
+        /* Compares the banks of each difficulty with the lines of the text file */
+        for (int i = 1; i <= 5; i++) {
+            Path text = Paths.get("src/sudoku/" + i + ".txt");
+            List<String> lines = puzzles(text);
+            BinaryPuzzleBank binary = BinaryPuzzleBank.map(new File("src/sudoku/" + i + ".bank"));
+            binary.verify();
+            if (binary.getDifficulty() != i)
+                fail(i + ".bank has difficulty " + binary.getDifficulty());
+            try (TextPuzzleBank file = new TextPuzzleBank(text.toFile())) {
+                TextPuzzleBank memory = new TextPuzzleBank(Files.readAllBytes(text));
+                if (file.size() != lines.size() || memory.size() != lines.size()
+                        || binary.size() != lines.size())
+                    fail(i + ": banks hold the wrong number of puzzles");
+                for (int k = 0; k < lines.size(); k++) {
+                    String puzzle = lines.get(k);
+                    binary.decode(k, board);
+                    if (!file.get(k).equals(puzzle) || !memory.get(k).equals(puzzle)
+                            || !binary.get(k).equals(puzzle)
+                            || !PuzzleCodec.encode(board).equals(puzzle)
+                            || !binary.getBoard(k).toString().equals(puzzle))
+                        fail(i + ": puzzle " + k + " differs");
+
+                    /* Reads the puzzle into a reused SudokuPuzzle from both kinds of bank */
+                    for (PuzzleBank bank : new PuzzleBank[] {binary, memory}) {
+                        bank.decode(k, reused);
+                        if (!reused.initialPuzzleState().equals(puzzle)
+                                || !reused.currentPuzzleState().equals(puzzle))
+                            fail(i + ": puzzle " + k + " differs in a SudokuPuzzle");
+                    }
+                }
+            }
+            System.out.printf("%d.txt, %d.bank -- COMPLETE (%d puzzles)\n", i, i, lines.size());
+        }
+
+        /* Damages a copy of a bank in each way, it must be rejected */
+        byte[] bytes = Files.readAllBytes(Paths.get("src/sudoku/3.bank"));
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length / 2] ^= 0x10;
+        expectDamaged("bank with a changed byte", flipped);
+        expectDamaged("bank cut short", Arrays.copyOf(bytes, bytes.length - 7));
+        expectDamaged("bank cut inside the header", Arrays.copyOf(bytes, 10));
+        expectDamaged("text bank", Files.readAllBytes(Paths.get("src/sudoku/3.txt")));
+        File cut = File.createTempFile("puzzles", ".bank");
+        cut.deleteOnExit();
+        Files.write(cut.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+        try {
+            BinaryPuzzleBank.map(cut).verify();
+            fail("Mapped bank cut in half was accepted");
+        } catch (IOException e) {
+            /* Rejected as expected */
+        }
+        System.out.println("Damaged banks -- COMPLETE");
+
+        /* Reads random puzzles from one mapped bank on several threads at once */
+        BinaryPuzzleBank shared = BinaryPuzzleBank.map(new File("src/sudoku/3.bank"));
+        List<String> lines = puzzles(Paths.get("src/sudoku/3.txt"));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(t);
+            results.add(pool.submit(() -> {
+                int[][] own = new int[9][9];
+                for (int k = 0; k < reads; k++) {
+                    int index = random.nextInt(shared.size());
+                    shared.decode(index, own);
+                    if (!PuzzleCodec.encode(own).equals(lines.get(index)))
+                        throw new IOException("Puzzle " + index + " differs");
+                }
+                return reads;
+            }));
+        }
+        int total = 0;
+        try {
+            for (Future<Integer> f : results)
+                total += f.get();
+        } catch (ExecutionException e) {
+            fail("Concurrent read failed: " + e.getCause().getMessage());
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf("Concurrent reads -- COMPLETE (%d threads, %d puzzles)\n", threads, total);
+
+        /* Display message when all tests passed */
+        System.out.println("Puzzle Bank Test Passed!");
+    }
+
+
+    /**
+     * Returns the puzzles of the text file, one per line.
+     */
+    private static List<String> puzzles(Path text) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(text))
+            if (line.length() >= PuzzleCodec.LENGTH)
+                lines.add(line.substring(0, PuzzleCodec.LENGTH));
+        return lines;
+    }
+
+
+    /**
+     * Opens and verifies the bank, and stops the test if it's accepted.
+     */
+    private static void expectDamaged(String what, byte[] bytes) {
+        try {
+            new BinaryPuzzleBank(bytes).verify();
+        } catch (IOException e) {
+            return;
+        }
+        fail(what + " was accepted");
+    }
+
+
+    /**
+     * Prints the error message, and stops the test.
+     */
+    private static void fail(String message) {
+        System.err.println("Error - " + message + ".");
+        System.exit(1);
+    }
+
+} // End PuzzleBankTest class
\ No newline at end of file
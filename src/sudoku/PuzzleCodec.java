@@ -0,0 +1,156 @@
+/**
+ * PuzzleCodec.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that converts Sudoku boards to and from the 81-character format used
+ * by the puzzle files and saved games: one character per tile in row-major
+ * order, '1' to '9' for numbers and '0' for empty tiles. When reading, any
+ * character other than '1' to '9' is an empty tile. The methods write into
+ * arrays given by the caller, so a buffer can be reused across many puzzles.
+ */
+package sudoku;
+
+
+public final class PuzzleCodec {
+
+    /* Number of characters in an encoded board */
+    public static final int LENGTH = 81;
+
+
+    /* Not instantiable */
+    private PuzzleCodec() {
+    }
+
+
+    /**
+     * Reads the 81 characters of the string into the 9x9 array.
+     *
+     * @param s The string representing the board.
+     * @param board The 9x9 array to read the board into.
+     */
+    public static void decode(CharSequence s, int[][] board) {
+        for (int i = 0, k = 0; i < 9; i++) {
+            int[] row = board[i];
+            for (int j = 0; j < 9; j++)
+                row[j] = digit(s.charAt(k++));
+        }
+    }
+
+
+    /**
+     * Reads the 81 characters of the array, starting at the offset, into the
+     * 9x9 array.
+     *
+     * @param chars The characters representing the board.
+     * @param offset The index of the board's first character.
+     * @param board The 9x9 array to read the board into.
+     */
+    public static void decode(char[] chars, int offset, int[][] board) {
+        for (int i = 0, k = offset; i < 9; i++) {
+            int[] row = board[i];
+            for (int j = 0; j < 9; j++)
+                row[j] = digit(chars[k++]);
+        }
+    }
+
+
+    /**
+     * Reads the 81 ASCII bytes of the array, starting at the offset, into the
+     * 9x9 array.
+     *
+     * @param bytes The ASCII bytes representing the board.
+     * @param offset The index of the board's first byte.
+     * @param board The 9x9 array to read the board into.
+     */
+    public static void decode(byte[] bytes, int offset, int[][] board) {
+        for (int i = 0, k = offset; i < 9; i++) {
+            int[] row = board[i];
+            for (int j = 0; j < 9; j++)
+                row[j] = digit((char) bytes[k++]);
+        }
+    }
+
+
+    /**
+     * Writes the 9x9 array into the character array as 81 characters,
+     * starting at the offset.
+     *
+     * @param board The 9x9 array of the board.
+     * @param chars The array to write the characters into.
+     * @param offset The index to write the board's first character at.
+     */
+    public static void encode(int[][] board, char[] chars, int offset) {
+        for (int i = 0, k = offset; i < 9; i++) {
+            int[] row = board[i];
+            for (int j = 0; j < 9; j++)
+                chars[k++] = (char) ('0' + value(row[j]));
+        }
+    }
+
+
+    /**
+     * Writes the 9x9 array into the byte array as 81 ASCII characters,
+     * starting at the offset.
+     *
+     * @param board The 9x9 array of the board.
+     * @param bytes The array to write the characters into.
+     * @param offset The index to write the board's first character at.
+     */
+    public static void encode(int[][] board, byte[] bytes, int offset) {
+        for (int i = 0, k = offset; i < 9; i++) {
+            int[] row = board[i];
+            for (int j = 0; j < 9; j++)
+                bytes[k++] = (byte) ('0' + value(row[j]));
+        }
+    }
+
+
+    /**
+     * Returns the 81-character string representing the 9x9 array.
+     *
+     * @param board The 9x9 array of the board.
+     * @return The string representing the board.
+     */
+    public static String encode(int[][] board) {
+        char[] chars = new char[LENGTH];
+        encode(board, chars, 0);
+        return new String(chars);
+    }
+
+
+    /**
+     * Returns true if the string holds at least 81 characters, each of them
+     * '0' to '9', or false if not. Used to reject damaged files.
+     *
+     * @param s The string to check.
+     * @return True if the string is a well-formed board, false if not.
+     */
+    public static boolean isWellFormed(CharSequence s) {
+        if (s == null || s.length() < LENGTH)
+            return false;
+        for (int k = 0; k < LENGTH; k++) {
+            char ch = s.charAt(k);
+            if (ch < '0' || ch > '9')
+                return false;
+        }
+        return true;
+    }
+
+
+    /**
+     * Returns the number written by the character, or 0 if it is not 1-9.
+     */
+    private static int digit(char ch) {
+        int val = ch - '0';
+        return (val >= 1 && val <= 9) ? val : 0;
+    }
+
+
+    /**
+     * Returns the number if it is 1-9, or 0 if not.
+     */
+    private static int value(int val) {
+        return (val >= 1 && val <= 9) ? val : 0;
+    }
+
+} // End PuzzleCodec class
\ No newline at end of file
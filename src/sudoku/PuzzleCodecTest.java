@@ -0,0 +1,146 @@
+/**
+ * PuzzleCodecTest.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Contains a round-trip test for the PuzzleCodec class. Run this file from the
+ * project's root directory. Every puzzle from the five puzzle text files, and
+ * its solution, is decoded from a string, a character array and a byte array,
+ * then encoded back to each of them with reused buffers; the test fails if any
+ * of the results differ from the original puzzle. The puzzles are also passed
+ * through SudokuPuzzle and PackedBoard, which must give back the same string.
+ * Each board is also held in a PuzzleSnapshot, and a few of its tiles are
+ * changed (one of them emptied) with with(); after every change, the hash
+ * updated from the old one must equal the hash of a snapshot made from the
+ * whole changed board, and the two snapshots must be equal.
+ *
+ * Usage: java PuzzleCodecTest
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+public class PuzzleCodecTest {
+
+    public static void main(String[] args) throws IOException {
+
+        /* Declare variables, the buffers are reused for every puzzle */
+        int[][] board = new int[9][9];
+        int[][] copy = new int[9][9];
+        char[] chars = new char[PuzzleCodec.LENGTH];
+        byte[] bytes = new byte[PuzzleCodec.LENGTH];
+        SolverContext context = new SolverContext();
+        Random random = new Random(20161121L);
+        int checked = 0;
+
+        /* Reads and checks each of the five test files */
+        for (int i = 1; i <= 5; i++) {
+            BufferedReader br = new BufferedReader(new FileReader("src/sudoku/" + i + ".txt"));
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.length() < 81)
+                    continue;
+                String puzzle = line.substring(0, 81);
+
+                /* Checks the puzzle, then its solution */
+                check(puzzle, board, copy, chars, bytes);
+                checkSnapshot(puzzle, copy, random);
+                context.reset(puzzle);
+                context.solve();
+                context.getSolution(board);
+                String solution = PuzzleCodec.encode(board);
+                check(solution, board, copy, chars, bytes);
+                checkSnapshot(solution, copy, random);
+                checked += 2;
+            }
+            br.close();
+        }
+
+        /* Display message when all tests passed */
+        System.out.printf("%d boards round-tripped.\n", checked);
+        System.out.println("Puzzle Codec Test Passed!");
+    }
+
+
+    /**
+     * Round-trips the board through every format, and stops if any result
+     * differs from the original string.
+     */
+    private static void check(String s, int[][] board, int[][] copy, char[] chars, byte[] bytes) {
+        if (!PuzzleCodec.isWellFormed(s))
+            fail("Puzzle is not well-formed", s);
+
+        /* String to array and back */
+        PuzzleCodec.decode(s, board);
+        if (!PuzzleCodec.encode(board).equals(s))
+            fail("String round trip failed", s);
+
+        /* Character array to array and back */
+        PuzzleCodec.encode(board, chars, 0);
+        PuzzleCodec.decode(chars, 0, copy);
+        if (!Arrays.deepEquals(board, copy) || !new String(chars).equals(s))
+            fail("Character array round trip failed", s);
+
+        /* Byte array to array and back */
+        PuzzleCodec.encode(board, bytes, 0);
+        PuzzleCodec.decode(bytes, 0, copy);
+        if (!Arrays.deepEquals(board, copy)
+                || !new String(bytes, StandardCharsets.US_ASCII).equals(s))
+            fail("Byte array round trip failed", s);
+
+        /* Through the puzzle and the packed board */
+        if (!new SudokuPuzzle(s).currentPuzzleState().equals(s))
+            fail("SudokuPuzzle round trip failed", s);
+        if (!new PackedBoard(s).toString().equals(s) || !new PackedBoard(board).toString().equals(s))
+            fail("PackedBoard round trip failed", s);
+    }
+
+
+    /**
+     * Changes a few tiles of the board's snapshot, the first one emptied, and
+     * stops if the updated hash differs from the hash of the whole board, or
+     * if snapshots of equal boards are not equal.
+     */
+    private static void checkSnapshot(String s, int[][] board, Random random) {
+        PuzzleCodec.decode(s, board);
+        PuzzleSnapshot snapshot = new PuzzleSnapshot(s);
+        for (int change = 0; change <= 4; change++) {
+            PuzzleSnapshot whole = new PuzzleSnapshot(board);
+            if (snapshot.getHash() != whole.getHash())
+                fail("Snapshot hash was not updated correctly", s);
+            if (!snapshot.equals(whole) || !whole.equals(snapshot)
+                    || snapshot.hashCode() != whole.hashCode())
+                fail("Snapshots of equal boards are not equal", s);
+            if (change == 4)
+                return;
+
+            /* Empties a filled tile first, then sets random tiles to random numbers */
+            int i = random.nextInt(81), val = random.nextInt(10);
+            if (change == 0) {
+                while (board[i / 9][i % 9] == 0)
+                    i = (i + 1) % 81;
+                val = 0;
+            }
+            snapshot = snapshot.with(i / 9, i % 9, val);
+            board[i / 9][i % 9] = val;
+        }
+    }
+
+
+    /**
+     * Prints the error message and the board that failed, and stops the test.
+     */
+    private static void fail(String message, String s) {
+        System.err.println("Error - " + message + ".");
+        System.out.println("Failed Puzzle: ");
+        new SudokuPuzzle(s).print();
+        System.exit(1);
+    }
+
+} // End PuzzleCodecTest class
\ No newline at end of file
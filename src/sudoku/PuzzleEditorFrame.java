@@ -130,9 +130,9 @@ public class PuzzleEditorFrame extends JFrame {
                                 e.getKeyChar() == '7' || e.getKeyChar() == '8' ||
                                 e.getKeyChar() == '9')) {
                             pane.setText("");  /* If not a valid number, delete the value in square */
-                            String str = puzzle.getConflictingSquares(m, n);
+                            CellSet conflicts = puzzle.getConflicts(m, n);
                             puzzle.remove(m, n);
-                            correct(str);
+                            correct(conflicts);
                         } else {
                             int x = Integer.parseInt(Character.toString(e.getKeyChar()));
                             if (x == highlighted)
@@ -140,13 +140,13 @@ public class PuzzleEditorFrame extends JFrame {
                             else
                                 pane.setForeground(GUIColors.BLACK);
                             pane.setText(Integer.toString(x));
-                            String str = puzzle.getConflictingSquares(m, n);
+                            CellSet conflicts = puzzle.getConflicts(m, n);
                             if (!puzzle.insert(x, m, n)) {
-                                correct(str);
-                                mark(puzzle.getConflictingSquares(m, n));
+                                correct(conflicts);
+                                mark(puzzle.getConflicts(m, n));
                                 pane.setForeground(GUIColors.RED);
                             } else
-                                correct(str);
+                                correct(conflicts);
                         } updateStatus();
                         setSaved(false);
                     }
@@ -219,15 +219,8 @@ public class PuzzleEditorFrame extends JFrame {
                 StyleConstants.setAlignment(f_center, StyleConstants.ALIGN_CENTER);
                 f_doc.setParagraphAttributes(0, f_doc.getLength(), f_center, false);
                 this.fields[i][j].setEditable(false);
-                int val = Integer.parseInt(Character.toString(s.charAt(k)));
-
-                /* Highlights illegal numbers from previous editing as red, or black if legal */
-                if (!this.puzzle.insert(val, i, j)) {
-                    this.fields[i][j].setForeground(GUIColors.RED);
-                    this.mark(this.puzzle.getConflictingSquares(i, j));
-                }
-                else
-                    this.fields[i][j].setForeground(GUIColors.BLACK);
+                this.fields[i][j].setForeground(GUIColors.BLACK);
+                this.puzzle.insert(Character.getNumericValue(s.charAt(k)), i, j);
 
                 /* Makes the space uneditable if the number is predetermined, or editable if otherwise */
                 if (s.charAt(k) != '0')
@@ -235,6 +228,9 @@ public class PuzzleEditorFrame extends JFrame {
                 k++;
             }
         }
+
+        /* Highlights illegal numbers from previous editing as red */
+        this.mark(this.puzzle.getConflictMap());
         this.updateStatus();    /* Display number of tiles filled */
     }
 
@@ -260,9 +256,9 @@ public class PuzzleEditorFrame extends JFrame {
      * one of the tiles.
      */
     private void updateLegalMoves(int i, int j) {
-        boolean[] legalMoves = this.puzzle.getLegalMoves(i, j);
+        int legalMoves = this.puzzle.getLegalMask(i, j);
         for (int k = 0; k < 9; k++) {
-            if (legalMoves[k])
+            if ((legalMoves & (1 << k)) != 0)
                 this.legalBoxes[k].setText(Integer.toString(k + 1));
             else
                 this.legalBoxes[k].setText("");
@@ -320,15 +316,11 @@ public class PuzzleEditorFrame extends JFrame {
 
 
     /**
-     * Marks all conflicting tiles given by the string in red.
+     * Marks all conflicting tiles in the set in red.
      */
-    private void mark(String str) {
-        for (int i = 0; i < str.length(); i += 6) {
-            String coor = str.substring(i, i + 6);
-            int x = Integer.parseInt(Character.toString(coor.charAt(1)));
-            int y = Integer.parseInt(Character.toString(coor.charAt(3)));
-            this.fields[x][y].setForeground(GUIColors.RED);
-        }
+    private void mark(CellSet set) {
+        for (int i = set.first(); i >= 0; i = set.next(i))
+            this.fields[i / 9][i % 9].setForeground(GUIColors.RED);
     }
 
 
@@ -336,13 +328,10 @@ public class PuzzleEditorFrame extends JFrame {
      * Recolors all the grids back to black if they do not contain any conflicting
      * tiles.
      */
-    private void correct(String str) {
-        for (int i = 0; i < str.length(); i += 6) {
-            String coor = str.substring(i, i + 6);
-            int x = Integer.parseInt(Character.toString(coor.charAt(1)));
-            int y = Integer.parseInt(Character.toString(coor.charAt(3)));
-            if (this.puzzle.getConflictingSquares(x, y).isEmpty())
-                this.fields[x][y].setForeground(GUIColors.BLACK);
+    private void correct(CellSet set) {
+        for (int i = set.first(); i >= 0; i = set.next(i)) {
+            if (!this.puzzle.hasConflict(i / 9, i % 9))
+                this.fields[i / 9][i % 9].setForeground(GUIColors.BLACK);
         }
     }
 
@@ -377,7 +366,11 @@ public class PuzzleEditorFrame extends JFrame {
 
 
     /**
-     * Saves the puzzle to the specified file represented in the path given.
+     * Saves the puzzle to the specified file represented in the path given. The
+     * user is warned if the saved puzzle has no solution or more than one, as it
+     * cannot be played until it has exactly one. The check is one search that
+     * stays within the same budget as playing a custom puzzle, so a grid built
+     * by hand can't freeze the editor.
      */
     private void save() {
 
@@ -399,6 +392,17 @@ public class PuzzleEditorFrame extends JFrame {
         FileUtility.saveGame(puzzle, puzzle.getDifficulty(),
                 FileUtility.MY_PUZZLES_PATH + this.title + ".dat");
         this.setSaved(true);
+
+        /* Checks to see if the puzzle has a unique solution, in one search that may give up */
+        SolverContext context = new SolverContext();
+        context.setBudget(SolveBudget.INTERACTIVE);
+        int n = context.reset(this.puzzle) ? context.countSolutions(2) : 0;
+        if (context.getStatus() == SolveStatus.GAVE_UP)
+            WindowUtility.displayInfo("The puzzle was saved, but it is taking too long to solve.", "Note!");
+        else if (n == 0)
+            WindowUtility.displayInfo("The puzzle was saved, but it has no solution.", "Note!");
+        else if (n > 1)
+            WindowUtility.displayInfo("The puzzle was saved, but it has more than one solution.", "Note!");
     }
 
 
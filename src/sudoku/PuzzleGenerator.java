@@ -0,0 +1,211 @@
+/**
+ * PuzzleGenerator.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that generates new Sudoku puzzles with a unique solution, rather than
+ * picking them from a bank. A random full grid is made by filling the three
+ * subgrids on the main diagonal (which never constrain each other) with random
+ * orders of the numbers, and solving the rest. Givens are then removed in a
+ * random order, keeping each removal only if the puzzle still has exactly one
+ * solution, until the target number of givens is reached. With a Symmetry,
+ * givens are removed a whole orbit at a time, so the givens left over keep the
+ * symmetry.
+ *
+ * Each uniqueness check is one SolverContext search limited to 2 solutions,
+ * and the context and arrays are reused for every puzzle, so a generator can
+ * make hundreds of puzzles per second. Removing givens at random can get stuck
+ * above a low target, as every remaining given is then needed; in that case a
+ * new grid is tried, and after a few tries the puzzle with the fewest givens
+ * is kept. A generator is not thread safe; use one generator per thread.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.util.Arrays;
+import java.util.Random;
+
+public class PuzzleGenerator {
+
+    /* Number of full grids tried before settling for more givens than the target */
+    private static final int ATTEMPTS = 10;
+
+    /* Declare private members */
+    private final Random random;
+    private final Symmetry symmetry;
+    private final SolverContext context;
+    private final int[][] board;
+    private final int[] order, orbit, saved;
+
+
+    /* Default constructor, places the givens without symmetry */
+    public PuzzleGenerator(Random r) {
+        this(r, Symmetry.NONE);
+    }
+
+
+    /* Secondary constructor, takes the symmetry the givens are laid out with */
+    public PuzzleGenerator(Random r, Symmetry symmetry) {
+        this.random = r;
+        this.symmetry = symmetry;
+        this.context = new SolverContext();
+        this.board = new int[9][9];
+        this.order = new int[81];
+        this.orbit = new int[4];
+        this.saved = new int[4];
+        for (int i = 0; i < 81; i++)
+            this.order[i] = i;
+    }
+
+
+    /**
+     * Generates a puzzle with a unique solution and the specified number of
+     * givens, or as few more as could be reached. With a symmetry, the target
+     * may fall between the sizes of the orbits left; the puzzle then keeps
+     * the fewest givens above the target that the symmetry allows.
+     *
+     * @param givens The number of givens to leave, from 17 to 81.
+     * @return The 81-character string of the generated puzzle.
+     */
+    public String generate(int givens) {
+        String best = null;
+        int fewest = 82;
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            this.fillGrid();
+            int count = this.removeGivens(givens);
+            if (count < fewest) {
+                fewest = count;
+                best = PuzzleCodec.encode(this.board);
+            }
+            if (count - givens < this.smallestOrbit())
+                break;
+        }
+        return best;
+    }
+
+
+    /**
+     * Generates a puzzle of the specified difficulty, with the same number of
+     * givens as the bank puzzles of that difficulty.
+     *
+     * @param difficulty The difficulty, from 1-5.
+     * @return The generated Sudoku puzzle.
+     */
+    public SudokuPuzzle generatePuzzle(int difficulty) {
+        SudokuPuzzle p = new SudokuPuzzle(this.generate(SudokuGenerator.getGivens(difficulty)));
+        p.setDifficulty(difficulty);
+        return p;
+    }
+
+
+    /**
+     * Returns the symmetry the givens are laid out with.
+     *
+     * @return The generator's symmetry.
+     */
+    public Symmetry getSymmetry() {
+        return this.symmetry;
+    }
+
+
+    /**
+     * Fills the board with a random full grid: the diagonal subgrids get
+     * random orders of the numbers, and the solver fills in the rest.
+     */
+    private void fillGrid() {
+        for (int[] row : this.board)
+            Arrays.fill(row, 0);
+        for (int g = 0; g < 9; g += 4) {
+            this.shuffle(9);
+            for (int k = 0; k < 9; k++)
+                this.board[(g / 3) * 3 + k / 3][(g % 3) * 3 + k % 3] = this.order[k] + 1;
+        }
+        this.context.reset(this.board);
+        this.context.solve();
+        this.context.getSolution(this.board);
+    }
+
+
+    /**
+     * Removes givens from the full grid in a random order, an orbit at a time,
+     * keeping each removal that leaves a unique solution and stopping at the
+     * target. Returns the number of givens left.
+     */
+    private int removeGivens(int target) {
+        int filled = 81;
+        this.shuffle(81);
+        for (int k = 0; k < 81 && filled > target; k++) {
+            int size = this.orbit(this.order[k]);
+            if (size == 0 || filled - size < target)
+                continue;
+
+            /* Removes the orbit, and puts it back if the solution is no longer unique */
+            for (int j = 0; j < size; j++) {
+                int i = this.orbit[j];
+                this.saved[j] = this.board[i / 9][i % 9];
+                this.board[i / 9][i % 9] = 0;
+            }
+            if (this.context.reset(this.board) && this.context.countSolutions(2) == 1) {
+                filled -= size;
+            } else {
+                for (int j = 0; j < size; j++) {
+                    int i = this.orbit[j];
+                    this.board[i / 9][i % 9] = this.saved[j];
+                }
+            }
+        }
+        return filled;
+    }
+
+
+    /**
+     * Stores the filled tiles of the orbit of the specified tile, and returns
+     * how many there are; 0 if the tile has already been removed.
+     */
+    private int orbit(int start) {
+        if (this.board[start / 9][start % 9] == 0)
+            return 0;
+        int size = 0, i = start;
+        do {
+            boolean seen = false;
+            for (int j = 0; j < size; j++)
+                seen |= this.orbit[j] == i;
+            if (!seen)
+                this.orbit[size++] = i;
+            i = this.symmetry.image(i);
+        } while (i != start && size < 4);
+        return size;
+    }
+
+
+    /**
+     * Returns the size of the smallest orbit still filled, or 82 if the board
+     * is empty; no orbit can be removed if the givens are closer to the target.
+     */
+    private int smallestOrbit() {
+        int smallest = 82;
+        for (int i = 0; i < 81; i++) {
+            int size = this.orbit(i);
+            if (size > 0)
+                smallest = Math.min(smallest, size);
+        }
+        return smallest;
+    }
+
+
+    /**
+     * Puts the first n entries of the order array into a random order, holding
+     * the numbers 0 to n - 1.
+     */
+    private void shuffle(int n) {
+        for (int k = 0; k < n; k++)
+            this.order[k] = k;
+        for (int k = n - 1; k > 0; k--) {
+            int j = this.random.nextInt(k + 1);
+            int t = this.order[k];
+            this.order[k] = this.order[j];
+            this.order[j] = t;
+        }
+    }
+
+} // End PuzzleGenerator class
\ No newline at end of file
@@ -0,0 +1,76 @@
+/**
+ * PuzzleGeneratorTest.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Contains a test for the PuzzleGenerator class. Generates puzzles of every
+ * difficulty with each symmetry, and checks with the dancing links solver that
+ * every puzzle has exactly one solution, that its givens keep the symmetry,
+ * and how many puzzles missed their target number of givens. The number of
+ * puzzles generated per second is displayed for each symmetry. The optional
+ * argument is the number of puzzles per difficulty and symmetry (100 by
+ * default).
+ *
+ * Usage: java PuzzleGeneratorTest [PUZZLES]
+ */
+package sudoku;
+
+
+/* Imports */
+import java.util.Random;
+
+public class PuzzleGeneratorTest {
+
+    public static void main(String[] args) {
+
+        /* Declare variables */
+        int count = (args.length > 0) ? Integer.parseInt(args[0]) : 100;
+        Random random = new Random(20161121L);
+
+        /* Generates and checks the puzzles of each symmetry */
+        for (Symmetry symmetry : Symmetry.values()) {
+            PuzzleGenerator generator = new PuzzleGenerator(random, symmetry);
+            int missed = 0, extra = 0;
+            long elapsed = 0;
+            for (int d = 1; d <= 5; d++) {
+                int givens = SudokuGenerator.getGivens(d);
+                for (int k = 0; k < count; k++) {
+                    long start = System.nanoTime();
+                    String s = generator.generate(givens);
+                    elapsed += System.nanoTime() - start;
+
+                    /* Checks the puzzle */
+                    SudokuPuzzle p = new SudokuPuzzle(s);
+                    if (new DancingLinksSolver(p).countSolutions(2) != 1)
+                        fail("Puzzle does not have a unique solution", s);
+                    for (int i = 0; i < 81; i++)
+                        if ((s.charAt(i) == '0') != (s.charAt(symmetry.image(i)) == '0'))
+                            fail("Puzzle is not " + symmetry + " symmetric", s);
+                    int filled = p.getNumberFilled();
+                    if (filled < givens)
+                        fail("Puzzle has fewer than " + givens + " givens", s);
+                    if (filled > givens) {
+                        missed++;
+                        extra += filled - givens;
+                    }
+                }
+            }
+            System.out.printf("%-12s %d puzzles, %d above target (%d givens over), %.0f puzzles/s\n",
+                    symmetry, 5 * count, missed, extra, 5 * count / (elapsed / 1e9));
+        }
+
+        /* Display message when all tests passed */
+        System.out.println("Puzzle Generator Test Passed!");
+    }
+
+
+    /**
+     * Prints the error message and the puzzle that failed, and stops the test.
+     */
+    private static void fail(String message, String s) {
+        System.err.println("Error - " + message + ".");
+        System.out.println("Failed Puzzle: ");
+        new SudokuPuzzle(s).print();
+        System.exit(1);
+    }
+
+} // End PuzzleGeneratorTest class
\ No newline at end of file
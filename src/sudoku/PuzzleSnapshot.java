@@ -0,0 +1,218 @@
+/**
+ * PuzzleSnapshot.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that holds the numbers of a Sudoku board at one moment, together with
+ * a 64-bit Zobrist hash of them: the exclusive-or of a fixed random number for
+ * each tile and the number in it. Snapshots are immutable, so they can be used
+ * as keys for memoising solutions, ratings or any other result computed from a
+ * board. Changing one tile with with() updates the hash with two exclusive-ors
+ * instead of hashing the whole board again.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.util.Random;
+
+public final class PuzzleSnapshot {
+
+    /* Seed of the Zobrist keys, fixed so hashes are the same on every run */
+    private static final long SEED = 0x5D0C0B0A2D5L;
+
+    /* Zobrist keys, one for each tile and number; the keys for empty tiles are 0 */
+    private static final long[] KEYS = new long[81 * 10];
+
+    static {
+        Random random = new Random(SEED);
+        for (int i = 0; i < 81; i++)
+            for (int val = 1; val <= 9; val++)
+                KEYS[i * 10 + val] = random.nextLong();
+    }
+
+    /* Declare private members */
+    private final PackedBoard board;
+    private final long hash;
+
+
+    /* Default constructor, takes the current state of the Sudoku puzzle */
+    public PuzzleSnapshot(SudokuPuzzle p) {
+        this(new PackedBoard(p.toArray()));
+    }
+
+
+    /* Secondary constructor, takes the 81-character string of the board */
+    public PuzzleSnapshot(CharSequence s) {
+        this(new PackedBoard(s));
+    }
+
+
+    /* Tertiary constructor, takes the 9x9 array of the board */
+    public PuzzleSnapshot(int[][] board) {
+        this(new PackedBoard(board));
+    }
+
+
+    /* Quaternary constructor, takes the packed board */
+    public PuzzleSnapshot(PackedBoard board) {
+        this(board, hash(board));
+    }
+
+
+    /* Private constructor, takes the board and its hash */
+    private PuzzleSnapshot(PackedBoard board, long hash) {
+        this.board = board;
+        this.hash = hash;
+    }
+
+
+    /**
+     * Returns the number in the specified tile, or 0 if it's empty. Tiles are
+     * numbered 0 to 80 in row-major order.
+     *
+     * @param i The index of the tile.
+     * @return The number in the tile, or 0 if it's empty.
+     */
+    public int get(int i) {
+        return this.board.get(i);
+    }
+
+
+    /**
+     * Returns the number at the specified row and column, or 0 if it's empty.
+     *
+     * @param r The row of the tile.
+     * @param c The column of the tile.
+     * @return The number in the tile, or 0 if it's empty.
+     */
+    public int get(int r, int c) {
+        return this.board.get(r * 9 + c);
+    }
+
+
+    /**
+     * Returns a snapshot equal to this one, but with the specified tile set to
+     * the number, or emptied if the number is 0. The hash of the new snapshot
+     * is updated from this one's rather than computed again.
+     *
+     * @param r The row of the tile.
+     * @param c The column of the tile.
+     * @param val The number to set, or 0 to empty the tile.
+     * @return The snapshot with the tile changed.
+     */
+    public PuzzleSnapshot with(int r, int c, int val) {
+        int i = r * 9 + c;
+        int old = this.board.get(i);
+        if (val < 1 || val > 9)
+            val = 0;
+        if (old == val)
+            return this;
+        long h = this.hash ^ KEYS[i * 10 + old] ^ KEYS[i * 10 + val];
+        return new PuzzleSnapshot(this.board.with(i, val), h);
+    }
+
+
+    /**
+     * Returns the 64-bit Zobrist hash of the board.
+     *
+     * @return The hash of the board.
+     */
+    public long getHash() {
+        return this.hash;
+    }
+
+
+    /**
+     * Returns the number of tiles holding a number 1-9.
+     *
+     * @return The number of filled tiles, from 0-81.
+     */
+    public int getNumberFilled() {
+        return this.board.getNumberFilled();
+    }
+
+
+    /**
+     * Returns the packed board held by the snapshot.
+     *
+     * @return The packed board.
+     */
+    public PackedBoard getBoard() {
+        return this.board;
+    }
+
+
+    /**
+     * Returns a new 9x9 array holding the numbers of the board.
+     *
+     * @return The 2-d array of the board.
+     */
+    public int[][] toArray() {
+        return this.board.toArray();
+    }
+
+
+    /**
+     * Returns a new Sudoku puzzle whose initial state is this board.
+     *
+     * @return The Sudoku puzzle of the board.
+     */
+    public SudokuPuzzle toPuzzle() {
+        return this.board.toPuzzle();
+    }
+
+
+    /**
+     * Returns a new Sudoku puzzle whose initial state is the specified board,
+     * and whose current state is this board. Used to hand out the solution of
+     * a puzzle along with its givens.
+     *
+     * @param givens The initial state of the puzzle.
+     * @return The Sudoku puzzle in this board's state.
+     */
+    public SudokuPuzzle toPuzzle(PuzzleSnapshot givens) {
+        SudokuPuzzle p = givens.toPuzzle();
+        p.setArray(this.toArray());
+        return p;
+    }
+
+
+    /**
+     * Returns the 81-character string of the board, with '0' for empty tiles.
+     *
+     * @return The string representing the board.
+     */
+    @Override
+    public String toString() {
+        return this.board.toString();
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof PuzzleSnapshot))
+            return false;
+        PuzzleSnapshot s = (PuzzleSnapshot) o;
+        return this.hash == s.hash && this.board.equals(s.board);
+    }
+
+
+    @Override
+    public int hashCode() {
+        return (int) (this.hash ^ (this.hash >>> 32));
+    }
+
+
+    /**
+     * Returns the Zobrist hash of the whole board.
+     */
+    private static long hash(PackedBoard board) {
+        long h = 0;
+        for (int i = 0; i < 81; i++)
+            h ^= KEYS[i * 10 + board.get(i)];
+        return h;
+    }
+
+} // End PuzzleSnapshot class
\ No newline at end of file
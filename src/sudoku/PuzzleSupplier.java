@@ -0,0 +1,131 @@
+/**
+ * PuzzleSupplier.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that keeps a few new games of one difficulty ready ahead of time, so
+ * that starting a game doesn't read or solve anything on the Swing event
+ * thread. Each supplier has a small bounded queue of prepared puzzles, drawn
+ * from SudokuGenerator and solved by the default solver backend, and a
+ * background daemon thread that refills the queue whenever a game is taken.
+ * If a game is asked for before the queue has been filled, it's prepared on
+ * the caller's thread instead. There is one supplier per difficulty, started
+ * the first time it's used.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public class PuzzleSupplier {
+
+    /* Number of games kept ready for each difficulty */
+    private static final int CAPACITY = 3;
+
+    /* Shortest and longest wait before trying again after the generator fails, in ms */
+    private static final long MIN_BACKOFF = 500, MAX_BACKOFF = 30000;
+
+    /* Suppliers for each difficulty, started on first use */
+    private static final PuzzleSupplier[] SUPPLIERS = new PuzzleSupplier[5];
+
+    /* Declare private members */
+    private final int difficulty;
+    private final BlockingQueue<PreparedPuzzle> queue;
+
+
+    /* Default constructor, takes the difficulty and starts the refilling thread */
+    private PuzzleSupplier(int difficulty) {
+        this.difficulty = difficulty;
+        this.queue = new ArrayBlockingQueue<>(CAPACITY);
+        Thread worker = new Thread(this::refill, "PuzzleSupplier-" + difficulty);
+        worker.setDaemon(true);
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+    }
+
+
+    /**
+     * Returns the supplier of the specified difficulty, starting it if this
+     * is the first time it's used.
+     *
+     * @param i The difficulty, from 1-5; values out of range are clamped.
+     * @return The supplier of games of the difficulty.
+     */
+    public static synchronized PuzzleSupplier forDifficulty(int i) {
+        i = Math.max(1, Math.min(5, i));
+        if (SUPPLIERS[i - 1] == null)
+            SUPPLIERS[i - 1] = new PuzzleSupplier(i);
+        return SUPPLIERS[i - 1];
+    }
+
+
+    /**
+     * Starts the suppliers of every difficulty, so that games are ready by
+     * the time the user picks one. Invoked when the program starts.
+     */
+    public static void startAll() {
+        for (int i = 1; i <= 5; i++)
+            forDifficulty(i);
+    }
+
+
+    /**
+     * Returns a new game of the supplier's difficulty. The game is taken from
+     * the queue if one is ready, or prepared on the caller's thread if not.
+     *
+     * @return The prepared game, or null if no puzzle could be generated.
+     */
+    public PreparedPuzzle take() {
+        PreparedPuzzle p = this.queue.poll();
+        return (p != null) ? p : this.prepare();
+    }
+
+
+    /**
+     * Returns the number of games ready to be taken.
+     *
+     * @return The number of games in the queue.
+     */
+    public int available() {
+        return this.queue.size();
+    }
+
+
+    /**
+     * Draws a puzzle from the generator and solves it, or returns null if
+     * the generator failed.
+     */
+    private PreparedPuzzle prepare() {
+        SudokuPuzzle p = new SudokuGenerator(this.difficulty).getPuzzle();
+        if (p == null)
+            return null;
+        return new PreparedPuzzle(p, SolverBackend.getDefault().solve(p));
+    }
+
+
+    /**
+     * Run by the background thread; prepares games while the queue has room,
+     * blocking while it's full. If the generator fails, the thread waits and
+     * tries again, doubling the wait after each failure in a row, so that a
+     * bank that can't be read for a while doesn't stop the supplier for good.
+     */
+    private void refill() {
+        long backoff = MIN_BACKOFF;
+        try {
+            while (true) {
+                PreparedPuzzle p = this.prepare();
+                if (p == null) {
+                    Thread.sleep(backoff);
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF);
+                    continue;
+                }
+                backoff = MIN_BACKOFF;
+                this.queue.put(p);
+            }
+        } catch (InterruptedException e) {
+            /* Stops refilling */
+        }
+    }
+
+} // End PuzzleSupplier class
\ No newline at end of file
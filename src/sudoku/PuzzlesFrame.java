@@ -205,8 +205,8 @@ public class PuzzlesFrame extends JFrame {
     /**
      * Opens the selected puzzle file to play. This is invoked when the user clicks
      * the play button. Only works if the puzzle isn't completely filled in, is
-     * unsolvable, or is already solved. A message displays if puzzle cannot be
-     * played, otherwise opens in a SudokuFrame.
+     * unsolvable, has more than one solution, or is already solved. A message
+     * displays if puzzle cannot be played, otherwise opens in a SudokuFrame.
      */
     private void play() {
 
@@ -224,15 +224,30 @@ public class PuzzlesFrame extends JFrame {
             return;
         }
 
-        /* Checks to see if puzzle is in an unsolvable state */
-        SudokuSolver s = new SudokuSolver(p);
+        /* Checks to see if puzzle is in an unsolvable state, or takes too long to solve */
+        Solver s = SolverBackend.getDefault().solve(p, SolveBudget.INTERACTIVE);
+        if (s.getStatus() == SolveStatus.GAVE_UP) {
+            WindowUtility.displayInfo("This puzzle is taking too long to solve.", "Note!");
+            return;
+        }
         if (!s.isSolvable() || p.getNumberFilled() == 81) {
             WindowUtility.displayInfo("This puzzle is currently unsolvable.", "Note!");
             return;
         }
 
-        /* All constraints passed, puzzle loads into SudokuFrame successfully */
-        SudokuFrame f = new SudokuFrame(p, false,
+        /* Checks to see if the puzzle has a unique solution */
+        int count = s.countSolutions(2);
+        if (s.getStatus() == SolveStatus.GAVE_UP) {
+            WindowUtility.displayInfo("This puzzle is taking too long to solve.", "Note!");
+            return;
+        }
+        if (count > 1) {
+            WindowUtility.displayInfo("This puzzle has more than one solution.", "Note!");
+            return;
+        }
+
+        /* All constraints passed, puzzle loads into SudokuFrame with its solver */
+        SudokuFrame f = new SudokuFrame(p, s, false,
                 FileUtility.MY_PUZZLES_PATH + name + ".dat", this.getX(), this.getY());
         this.dispose();
     }
@@ -240,8 +255,9 @@ public class PuzzlesFrame extends JFrame {
 
     /**
      * Imports a puzzle file from the user's computer. Constraints include importing
-     * a file without the .dat extension, and name must be unique. Imported if
-     * satisfied, or displays error message if not.
+     * a file without the .dat extension, name must be unique, and the puzzle must
+     * have exactly one solution. Imported if satisfied, or displays error message
+     * if not.
      */
     private void importPuzzle() {
 
@@ -268,6 +284,26 @@ public class PuzzlesFrame extends JFrame {
             return;
         }
 
+        /* Check to see if the file holds a puzzle with exactly one solution */
+        SudokuPuzzle p = FileUtility.loadGame(filePath + fileName);
+        if (p == null) {
+            WindowUtility.errorMessage("Failed to import the puzzle."
+                    + "\nThe file does not contain a valid puzzle.", "Error!");
+            return;
+        }
+        Solver s = SolverBackend.getDefault().solve(p, SolveBudget.INTERACTIVE);
+        int count = s.countSolutions(2);
+        if (s.getStatus() == SolveStatus.GAVE_UP) {
+            WindowUtility.errorMessage("Failed to import the puzzle."
+                    + "\nThe puzzle takes too long to solve.", "Error!");
+            return;
+        }
+        if (count != 1) {
+            WindowUtility.errorMessage("Failed to import the puzzle."
+                    + "\nThe puzzle must have exactly one solution.", "Error!");
+            return;
+        }
+
         /* Copies the seleted file into the puzzles directory, updates the lists */
         if (!FileUtility.copyFile(filePath + fileName, FileUtility.MY_PUZZLES_PATH + fileName))
             WindowUtility.errorMessage("Failed to import the puzzle."
@@ -0,0 +1,91 @@
+/**
+ * SolveBudget.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that holds the limits a solver must stay within: a time limit, a limit
+ * on the number of search nodes (digits tried by the search), and an optional
+ * CancellationToken. A limit of 0 means no limit. The limits apply to each
+ * search separately, so the same budget can be reused; a solver running out of
+ * its budget stops and reports SolveStatus.GAVE_UP.
+ */
+package sudoku;
+
+
+public final class SolveBudget {
+
+    /* A budget without any limits */
+    public static final SolveBudget UNLIMITED = new SolveBudget(0, 0);
+
+    /* Limits for checking a custom puzzle, so a bad puzzle can't freeze the window */
+    public static final SolveBudget INTERACTIVE = new SolveBudget(2000, 5000000);
+
+    /* Declare private members */
+    private final long timeoutMillis;
+    private final long maxNodes;
+    private final CancellationToken token;
+
+
+    /* Default constructor, takes the time limit and the node limit */
+    public SolveBudget(long timeoutMillis, long maxNodes) {
+        this(timeoutMillis, maxNodes, null);
+    }
+
+
+    /* Secondary constructor, takes a token to cancel the solve with */
+    public SolveBudget(long timeoutMillis, long maxNodes, CancellationToken token) {
+        if (timeoutMillis < 0 || maxNodes < 0)
+            throw new IllegalArgumentException("Limits must not be negative");
+        this.timeoutMillis = timeoutMillis;
+        this.maxNodes = maxNodes;
+        this.token = token;
+    }
+
+
+    /**
+     * Returns the time a search may take, in milliseconds, or 0 for no limit.
+     *
+     * @return The time limit in milliseconds.
+     */
+    public long getTimeoutMillis() {
+        return this.timeoutMillis;
+    }
+
+
+    /**
+     * Returns the number of nodes a search may visit, or 0 for no limit.
+     *
+     * @return The node limit.
+     */
+    public long getMaxNodes() {
+        return this.maxNodes;
+    }
+
+
+    /**
+     * Returns the token used to cancel the solve, or null if there is none.
+     *
+     * @return The cancellation token, or null.
+     */
+    public CancellationToken getToken() {
+        return this.token;
+    }
+
+
+    /**
+     * Returns true if a search started at the specified time and having visited
+     * the specified number of nodes has run out of this budget.
+     *
+     * @param start The value of System.nanoTime() when the search started.
+     * @param nodes The number of nodes visited so far.
+     * @return True if the search must give up, false if not.
+     */
+    boolean isExhausted(long start, long nodes) {
+        if (this.token != null && this.token.isCancelled())
+            return true;
+        if (this.maxNodes > 0 && nodes >= this.maxNodes)
+            return true;
+        return this.timeoutMillis > 0
+                && System.nanoTime() - start >= this.timeoutMillis * 1000000L;
+    }
+
+} // End SolveBudget class
\ No newline at end of file
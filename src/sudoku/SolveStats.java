@@ -0,0 +1,138 @@
+/**
+ * SolveStats.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that holds the statistics of one solve: the search nodes visited (the
+ * digits tried), the backtracks, the deepest level reached, the cells filled by
+ * propagation and by searching, and the wall-clock and CPU time taken. Used to
+ * find out why some puzzles are slow; see SolveStatsSummary for aggregating
+ * the statistics of many solves.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public class SolveStats {
+
+    /* Used to read the CPU time of the current thread */
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /* Declare private members */
+    private final long nodes;
+    private final long backtracks;
+    private final int maxDepth;
+    private final int propagated;
+    private final int searched;
+    private final long wallNanos;
+    private final long cpuNanos;
+
+
+    /* Default constructor */
+    public SolveStats(long nodes, long backtracks, int maxDepth, int propagated,
+            int searched, long wallNanos, long cpuNanos) {
+        this.nodes = nodes;
+        this.backtracks = backtracks;
+        this.maxDepth = maxDepth;
+        this.propagated = propagated;
+        this.searched = searched;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+    }
+
+
+    /**
+     * Returns the CPU time used by the current thread so far, in nanoseconds,
+     * or 0 if the JVM can't measure it.
+     *
+     * @return The current thread's CPU time in nanoseconds.
+     */
+    public static long currentThreadCpuTime() {
+        if (!THREADS.isCurrentThreadCpuTimeSupported())
+            return 0;
+        return THREADS.getCurrentThreadCpuTime();
+    }
+
+
+    /**
+     * Returns the number of digits tried by the search.
+     *
+     * @return The number of search nodes.
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+
+    /**
+     * Returns the number of dead ends hit by the search, as in, the times it
+     * had to take back a digit because some empty cell had no candidates.
+     *
+     * @return The number of backtracks.
+     */
+    public long getBacktracks() {
+        return this.backtracks;
+    }
+
+
+    /**
+     * Returns the most digits placed by the search at once.
+     *
+     * @return The maximum search depth.
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+
+    /**
+     * Returns the number of cells filled by propagation before searching.
+     *
+     * @return The number of propagated cells.
+     */
+    public int getPropagatedCells() {
+        return this.propagated;
+    }
+
+
+    /**
+     * Returns the number of cells left to the search after propagation, as in,
+     * the cells filled by guessing.
+     *
+     * @return The number of searched cells.
+     */
+    public int getSearchedCells() {
+        return this.searched;
+    }
+
+
+    /**
+     * Returns the wall-clock time taken, in nanoseconds.
+     *
+     * @return The wall-clock time in nanoseconds.
+     */
+    public long getWallNanos() {
+        return this.wallNanos;
+    }
+
+
+    /**
+     * Returns the CPU time taken, in nanoseconds, or 0 if it wasn't measured.
+     *
+     * @return The CPU time in nanoseconds.
+     */
+    public long getCpuNanos() {
+        return this.cpuNanos;
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format("nodes=%d backtracks=%d depth=%d propagated=%d searched=%d"
+                + " wall=%dus cpu=%dus", this.nodes, this.backtracks, this.maxDepth,
+                this.propagated, this.searched, this.wallNanos / 1000, this.cpuNanos / 1000);
+    }
+
+} // End SolveStats class
\ No newline at end of file
@@ -0,0 +1,189 @@
+/**
+ * SolveStatsSummary.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that aggregates the statistics of many solves, such as all puzzles of
+ * one difficulty. Each statistic is sorted so its percentiles can be read; the
+ * median (p50), the 99th percentile (p99) and the maximum show whether a few
+ * puzzles are much slower than the rest.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.util.Arrays;
+import java.util.Collection;
+
+public class SolveStatsSummary {
+
+    /* Declare private members */
+    private final int count;
+    private final long[] nodes;
+    private final long[] backtracks;
+    private final long[] maxDepth;
+    private final long[] propagated;
+    private final long[] searched;
+    private final long[] wallNanos;
+    private final long[] cpuNanos;
+
+
+    /* Default constructor, takes the statistics to aggregate */
+    public SolveStatsSummary(Collection<SolveStats> stats) {
+        this.count = stats.size();
+        this.nodes = new long[this.count];
+        this.backtracks = new long[this.count];
+        this.maxDepth = new long[this.count];
+        this.propagated = new long[this.count];
+        this.searched = new long[this.count];
+        this.wallNanos = new long[this.count];
+        this.cpuNanos = new long[this.count];
+        int i = 0;
+        for (SolveStats s : stats) {
+            this.nodes[i] = s.getNodes();
+            this.backtracks[i] = s.getBacktracks();
+            this.maxDepth[i] = s.getMaxDepth();
+            this.propagated[i] = s.getPropagatedCells();
+            this.searched[i] = s.getSearchedCells();
+            this.wallNanos[i] = s.getWallNanos();
+            this.cpuNanos[i] = s.getCpuNanos();
+            i++;
+        }
+        Arrays.sort(this.nodes);
+        Arrays.sort(this.backtracks);
+        Arrays.sort(this.maxDepth);
+        Arrays.sort(this.propagated);
+        Arrays.sort(this.searched);
+        Arrays.sort(this.wallNanos);
+        Arrays.sort(this.cpuNanos);
+    }
+
+
+    /**
+     * Returns the number of solves aggregated.
+     *
+     * @return The number of solves.
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+
+    /**
+     * Returns the specified percentile of the search nodes.
+     *
+     * @param p The percentile, from 0 to 100.
+     * @return The number of nodes at that percentile.
+     */
+    public long getNodes(double p) {
+        return percentile(this.nodes, p);
+    }
+
+
+    /**
+     * Returns the specified percentile of the backtracks.
+     *
+     * @param p The percentile, from 0 to 100.
+     * @return The number of backtracks at that percentile.
+     */
+    public long getBacktracks(double p) {
+        return percentile(this.backtracks, p);
+    }
+
+
+    /**
+     * Returns the specified percentile of the maximum search depth.
+     *
+     * @param p The percentile, from 0 to 100.
+     * @return The search depth at that percentile.
+     */
+    public long getMaxDepth(double p) {
+        return percentile(this.maxDepth, p);
+    }
+
+
+    /**
+     * Returns the specified percentile of the cells filled by propagation.
+     *
+     * @param p The percentile, from 0 to 100.
+     * @return The number of propagated cells at that percentile.
+     */
+    public long getPropagatedCells(double p) {
+        return percentile(this.propagated, p);
+    }
+
+
+    /**
+     * Returns the specified percentile of the cells filled by searching.
+     *
+     * @param p The percentile, from 0 to 100.
+     * @return The number of searched cells at that percentile.
+     */
+    public long getSearchedCells(double p) {
+        return percentile(this.searched, p);
+    }
+
+
+    /**
+     * Returns the specified percentile of the wall-clock time, in nanoseconds.
+     *
+     * @param p The percentile, from 0 to 100.
+     * @return The wall-clock time at that percentile.
+     */
+    public long getWallNanos(double p) {
+        return percentile(this.wallNanos, p);
+    }
+
+
+    /**
+     * Returns the specified percentile of the CPU time, in nanoseconds.
+     *
+     * @param p The percentile, from 0 to 100.
+     * @return The CPU time at that percentile.
+     */
+    public long getCpuNanos(double p) {
+        return percentile(this.cpuNanos, p);
+    }
+
+
+    /**
+     * Returns a table of the p50, p99 and maximum of each statistic, times
+     * given in microseconds.
+     *
+     * @return The summary as a multi-line string.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-12s %10s %10s %10s\n", "", "p50", "p99", "max"));
+        row(sb, "nodes", this.nodes, 1);
+        row(sb, "backtracks", this.backtracks, 1);
+        row(sb, "depth", this.maxDepth, 1);
+        row(sb, "propagated", this.propagated, 1);
+        row(sb, "searched", this.searched, 1);
+        row(sb, "wall (us)", this.wallNanos, 1000);
+        row(sb, "cpu (us)", this.cpuNanos, 1000);
+        return sb.toString();
+    }
+
+
+    /**
+     * Appends one row of the table, with each value divided by the unit.
+     */
+    private static void row(StringBuilder sb, String name, long[] sorted, long unit) {
+        sb.append(String.format("%-12s %10d %10d %10d\n", name, percentile(sorted, 50) / unit,
+                percentile(sorted, 99) / unit, percentile(sorted, 100) / unit));
+    }
+
+
+    /**
+     * Returns the value at the specified percentile of the sorted values, using
+     * the nearest rank, or 0 if there are no values.
+     */
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0)
+            return 0;
+        int rank = (int) Math.ceil(p / 100 * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+    }
+
+} // End SolveStatsSummary class
\ No newline at end of file
@@ -0,0 +1,17 @@
+/**
+ * SolveStatus.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Enum of the outcomes of a solve. SOLVED means a solution was found, and
+ * UNSOLVABLE means the whole search ran without finding one. GAVE_UP means the
+ * solver ran out of its SolveBudget (time, nodes, or a cancelled token) before
+ * it could tell either way.
+ */
+package sudoku;
+
+
+public enum SolveStatus {
+
+    SOLVED, UNSOLVABLE, GAVE_UP
+
+} // End SolveStatus enum
\ No newline at end of file
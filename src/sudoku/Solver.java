@@ -0,0 +1,52 @@
+/**
+ * Solver.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Interface shared by the Sudoku solver backends. A solver is given a puzzle
+ * when it is created, solves the puzzle's initial state, and is then queried
+ * for the result. Use SolverBackend to create a solver of a given backend.
+ * Solvers can be given a SolveBudget to give up on puzzles taking too long.
+ */
+package sudoku;
+
+
+public interface Solver {
+
+    /**
+     * Returns true if the Sudoku puzzle was able to be solved, or false if not.
+     *
+     * @return True if the puzzle can be solved, false if not.
+     */
+    boolean isSolvable();
+
+
+    /**
+     * Returns the solved Sudoku puzzle, or null if the puzzle couldn't be solved.
+     *
+     * @return A copy of the Sudoku puzzle in a solved state, or null if not solvable.
+     */
+    SudokuPuzzle getSolution();
+
+
+    /**
+     * Counts the solutions of the puzzle's initial state, stopping as soon as
+     * the limit is reached. A limit of 2 is enough to tell whether the puzzle
+     * has a unique solution.
+     *
+     * @param limit The number of solutions to stop searching at.
+     * @return The number of solutions found, at most the limit.
+     */
+    int countSolutions(int limit);
+
+
+    /**
+     * Returns the outcome of the last search, either the solve done when the
+     * solver was created or the last call to countSolutions(). GAVE_UP means
+     * the solver ran out of its SolveBudget, and the result of that search
+     * says nothing about the puzzle.
+     *
+     * @return The status of the last search.
+     */
+    SolveStatus getStatus();
+
+} // End Solver interface
\ No newline at end of file
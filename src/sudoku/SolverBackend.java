@@ -0,0 +1,96 @@
+/**
+ * SolverBackend.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Enum of the available Sudoku solver backends. BACKTRACKING is the bitmask
+ * backtracking solver (SudokuSolver), DANCING_LINKS is the exact cover solver
+ * (DancingLinksSolver), and PARALLEL splits the backtracking search across the
+ * common fork/join pool (ParallelSolver). The default backend is backtracking,
+ * and can be changed with the "sudoku.solver" system property.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.util.concurrent.ForkJoinPool;
+
+public enum SolverBackend {
+
+    BACKTRACKING, DANCING_LINKS, PARALLEL;
+
+
+    /**
+     * Creates a solver of this backend for the specified puzzle. The puzzle is
+     * solved before the solver is returned.
+     *
+     * @param p The Sudoku puzzle to solve.
+     * @return The solver holding the result.
+     */
+    public Solver solve(SudokuPuzzle p) {
+        return this.solve(p, SolveBudget.UNLIMITED);
+    }
+
+
+    /**
+     * Creates a solver of this backend for the specified puzzle, giving up on
+     * any search that runs out of the budget. The puzzle is solved before the
+     * solver is returned; check its status for SolveStatus.GAVE_UP.
+     *
+     * @param p The Sudoku puzzle to solve.
+     * @param budget The limits each search must stay within.
+     * @return The solver holding the result.
+     */
+    public Solver solve(SudokuPuzzle p, SolveBudget budget) {
+        switch (this) {
+            case DANCING_LINKS:
+                return new DancingLinksSolver(p, budget);
+            case PARALLEL:
+                return new ParallelSolver(p, ForkJoinPool.commonPool(), CellSelection.MRV, budget);
+            default:
+                return new SudokuSolver(p, CellSelection.MRV, budget);
+        }
+    }
+
+
+    /**
+     * Returns the backend used by the application, as set by the "sudoku.solver"
+     * system property, or BACKTRACKING if it is not set.
+     *
+     * @return The default solver backend.
+     */
+    public static SolverBackend getDefault() {
+        return SolverBackend.fromName(System.getProperty("sudoku.solver"));
+    }
+
+
+    /**
+     * Returns the backend with the specified name, ignoring case, or null if
+     * the name does not match any backend. "dlx" is accepted for DANCING_LINKS.
+     *
+     * @param name The name of the backend.
+     * @return The matching solver backend, or null if none match.
+     */
+    public static SolverBackend forName(String name) {
+        if ("dlx".equalsIgnoreCase(name))
+            return DANCING_LINKS;
+        for (SolverBackend b : SolverBackend.values()) {
+            if (b.name().equalsIgnoreCase(name))
+                return b;
+        }
+        return null;
+    }
+
+
+    /**
+     * Returns the backend with the specified name, ignoring case, or BACKTRACKING
+     * if the name does not match any backend.
+     *
+     * @param name The name of the backend.
+     * @return The matching solver backend.
+     */
+    public static SolverBackend fromName(String name) {
+        SolverBackend b = SolverBackend.forName(name);
+        return (b == null) ? BACKTRACKING : b;
+    }
+
+} // End SolverBackend enum
\ No newline at end of file
@@ -0,0 +1,693 @@
+/**
+ * SolverContext.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Class that holds the working state of the bitmask Sudoku solver, so that one
+ * context can be reset and reused for any number of puzzles. All arrays are
+ * allocated once when the context is created; resetting, propagating and
+ * searching allocate nothing, so batch jobs can solve puzzle after puzzle
+ * without producing garbage.
+ *
+ * The board is kept as a flat array of cells, along with a bitmask of the
+ * digits already used in each row, column and subgrid (bit 0 = 1, bit 8 = 9).
+ * The masks are updated as digits are placed and removed, so the candidates
+ * for a cell are found with a single lookup instead of rescanning the board.
+ * The standard board has 81 cells; contexts for larger boards (up to 25x25)
+ * can be created from a BoardGeometry.
+ *
+ * Before searching, the cells that are forced are filled by propagation:
+ * naked singles (a cell with one candidate) and hidden singles (a digit with
+ * one possible cell in a row, column or subgrid) are placed until neither rule
+ * fills anything. The cells left over are searched using an explicit stack
+ * instead of recursion, so the search does not depend on the thread's stack
+ * size, with the next cell picked by a CellSelection policy. A context is not
+ * thread safe; use one context per thread.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SolverContext {
+
+    /* Declare private members */
+    private final BoardGeometry geometry;
+    private final int size, cellCount, allDigits;
+    private final int[] row, column, box;
+    private final int[][] peers, units;
+    private final CellSelection selection;
+    private final int[] cells;
+    private final int[] solution;
+    private final int[] rows;
+    private final int[] columns;
+    private final int[] boxes;
+    private final int[] empty;
+    private final int[] remaining;
+    private final int[] placed;
+    private int emptyCount;
+    private int nakedSingles, hiddenSingles;
+    private int found;
+    private boolean legal;
+    private SolveBudget budget;
+    private long nodes, backtracks;
+    private int maxDepth;
+    private boolean gaveUp;
+    private AtomicBoolean stop;
+
+
+    /* Default constructor */
+    public SolverContext() {
+        this(CellSelection.MRV);
+    }
+
+
+    /* Secondary constructor, takes the policy for picking the next cell to fill */
+    public SolverContext(CellSelection selection) {
+        this(BoardGeometry.STANDARD, selection);
+    }
+
+
+    /* Tertiary constructor, takes the geometry of the board to solve */
+    public SolverContext(BoardGeometry geometry, CellSelection selection) {
+        this.geometry = geometry;
+        this.size = geometry.size;
+        this.cellCount = geometry.cellCount;
+        this.allDigits = geometry.allDigits;
+        this.row = geometry.row;
+        this.column = geometry.column;
+        this.box = geometry.box;
+        this.peers = geometry.peers;
+        this.units = geometry.units;
+        this.selection = selection;
+        this.cells = new int[this.cellCount];
+        this.solution = new int[this.cellCount];
+        this.rows = new int[this.size];
+        this.columns = new int[this.size];
+        this.boxes = new int[this.size];
+        this.empty = new int[this.cellCount];
+        this.remaining = new int[this.cellCount];
+        this.placed = new int[this.cellCount];
+        this.budget = SolveBudget.UNLIMITED;
+    }
+
+
+    /**
+     * Loads the initial state of the specified puzzle into the context, and
+     * fills in the cells forced by propagation. Returns false if the puzzle
+     * has no solution because of a conflict found while loading. Only valid
+     * for contexts of the standard 9x9 board.
+     *
+     * @param p The Sudoku puzzle to load.
+     * @return False if the puzzle is known to have no solution, true otherwise.
+     */
+    public boolean reset(SudokuPuzzle p) {
+        return this.reset(p.initialPuzzleState());
+    }
+
+
+    /**
+     * Loads the puzzle represented by the string into the context, one
+     * character per cell in row-major order (81 characters for the standard
+     * board), and fills in the cells forced by propagation. Digits are written
+     * 1-9, then A-Z (or a-z) for 10 and above on larger boards; all other
+     * characters are empty cells. Returns false if the puzzle has no solution
+     * because of a conflict found while loading.
+     *
+     * @param s The string representing the puzzle.
+     * @return False if the puzzle is known to have no solution, true otherwise.
+     */
+    public boolean reset(CharSequence s) {
+        this.clear();
+        this.legal = true;
+        for (int i = 0; i < this.cellCount && this.legal; i++) {
+            char ch = s.charAt(i);
+            int val = 0;
+            if (ch >= '1' && ch <= '9')
+                val = ch - '0';
+            else if (ch >= 'A' && ch <= 'Z')
+                val = ch - 'A' + 10;
+            else if (ch >= 'a' && ch <= 'z')
+                val = ch - 'a' + 10;
+            if (val <= this.size && val != 0)
+                this.legal = this.load(i, val);
+        }
+        this.legal = this.legal && this.propagate();
+        return this.legal;
+    }
+
+
+    /**
+     * Loads the specified board into the context, and fills in the cells
+     * forced by propagation. Values outside 1 to the board size are empty
+     * cells. Returns false if the puzzle has no solution because of a conflict
+     * found while loading.
+     *
+     * @param board The 2-d array representing the board.
+     * @return False if the puzzle is known to have no solution, true otherwise.
+     */
+    public boolean reset(int[][] board) {
+        this.clear();
+        this.legal = true;
+        for (int i = 0; i < this.cellCount && this.legal; i++) {
+            int val = board[this.row[i]][this.column[i]];
+            if (val >= 1 && val <= this.size)
+                this.legal = this.load(i, val);
+        }
+        this.legal = this.legal && this.propagate();
+        return this.legal;
+    }
+
+
+    /**
+     * Solves the loaded puzzle. Returns true if a solution was found, which can
+     * then be read with getSolution().
+     *
+     * @return True if the puzzle can be solved, false if not.
+     */
+    public boolean solve() {
+        return this.countSolutions(1) == 1;
+    }
+
+
+    /**
+     * Counts the solutions of the loaded puzzle, stopping as soon as the limit
+     * is reached. Checking whether a puzzle has exactly one solution only needs
+     * a limit of 2. The first solution found can be read with getSolution().
+     * If the search runs out of its budget, it stops early; getStatus() then
+     * returns GAVE_UP, and the count is only what was found before giving up.
+     *
+     * @param limit The number of solutions to stop searching at.
+     * @return The number of solutions found, at most the limit.
+     */
+    public int countSolutions(int limit) {
+        this.found = 0;
+        this.nodes = 0;
+        this.backtracks = 0;
+        this.maxDepth = 0;
+        this.gaveUp = false;
+        if (!this.legal || limit < 1)
+            return 0;
+        this.search(limit, System.nanoTime());
+        return this.found;
+    }
+
+
+    /**
+     * Sets the limits each search must stay within. The budget is checked
+     * every 256 search steps, so a search may go slightly over its node limit.
+     *
+     * @param budget The limits of each search, or SolveBudget.UNLIMITED.
+     */
+    public void setBudget(SolveBudget budget) {
+        this.budget = (budget == null) ? SolveBudget.UNLIMITED : budget;
+    }
+
+
+    /**
+     * Returns the outcome of the last search: SOLVED if a solution was found,
+     * GAVE_UP if the search ran out of its budget first, or UNSOLVABLE if not.
+     *
+     * @return The status of the last search.
+     */
+    public SolveStatus getStatus() {
+        if (this.gaveUp)
+            return SolveStatus.GAVE_UP;
+        return (this.found > 0) ? SolveStatus.SOLVED : SolveStatus.UNSOLVABLE;
+    }
+
+
+    /**
+     * Returns the number of digits tried by the last search.
+     *
+     * @return The number of search nodes visited.
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+
+    /**
+     * Returns the number of dead ends hit by the last search, as in, the times
+     * it had to take back a digit because some empty cell had no candidates.
+     *
+     * @return The number of backtracks.
+     */
+    public long getBacktracks() {
+        return this.backtracks;
+    }
+
+
+    /**
+     * Returns the deepest level reached by the last search, as in, the most
+     * digits placed by the search at once.
+     *
+     * @return The maximum search depth.
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+
+    /**
+     * Returns the statistics of the last search, along with the time it took
+     * as measured by the caller.
+     *
+     * @param wallNanos The wall-clock time taken, in nanoseconds.
+     * @param cpuNanos The CPU time taken, in nanoseconds.
+     * @return The statistics of the last search.
+     */
+    SolveStats toStats(long wallNanos, long cpuNanos) {
+        return new SolveStats(this.nodes, this.backtracks, this.maxDepth,
+                this.nakedSingles + this.hiddenSingles, this.getSearchedCells(),
+                wallNanos, cpuNanos);
+    }
+
+
+    /**
+     * Copies the first solution found by the last search into the specified
+     * 2-d array, which must be the size of the board.
+     *
+     * @param board The 2-d array to copy the solution into.
+     */
+    public void getSolution(int[][] board) {
+        for (int i = 0; i < this.cellCount; i++)
+            board[this.row[i]][this.column[i]] = this.solution[i];
+    }
+
+
+    /**
+     * Returns the value of the cell in the first solution found by the last
+     * search. Cells are numbered from 0 in row-major order (0-80 on the
+     * standard board).
+     *
+     * @param cell The index of the cell.
+     * @return The value in the cell, 1-9 on the standard board.
+     */
+    public int getSolutionValue(int cell) {
+        return this.solution[cell];
+    }
+
+
+    /**
+     * Returns the number of cells filled as naked singles during propagation.
+     *
+     * @return The number of naked singles placed before searching.
+     */
+    public int getNakedSingles() {
+        return this.nakedSingles;
+    }
+
+
+    /**
+     * Returns the number of cells filled as hidden singles during propagation.
+     *
+     * @return The number of hidden singles placed before searching.
+     */
+    public int getHiddenSingles() {
+        return this.hiddenSingles;
+    }
+
+
+    /**
+     * Returns the number of cells left empty after propagation, which are the
+     * cells filled by the search.
+     *
+     * @return The number of cells filled by searching.
+     */
+    public int getSearchedCells() {
+        return this.emptyCount;
+    }
+
+
+    /**
+     * Returns the geometry of the board this context solves.
+     *
+     * @return The board geometry.
+     */
+    public BoardGeometry getGeometry() {
+        return this.geometry;
+    }
+
+
+    /**
+     * Sets the flag checked by the search every few hundred steps; once the
+     * flag is set, the search stops early and countSolutions() returns the
+     * number of solutions found so far. Used to cancel sibling searches when
+     * solving in parallel. Passing null removes the flag.
+     *
+     * @param flag The flag to stop searching on, or null.
+     */
+    void setStopFlag(AtomicBoolean flag) {
+        this.stop = flag;
+    }
+
+
+    /**
+     * Copies the board, masks and counters of the other context into this
+     * one. Both contexts must have the same geometry.
+     *
+     * @param other The context to copy.
+     */
+    void copyFrom(SolverContext other) {
+        System.arraycopy(other.cells, 0, this.cells, 0, this.cellCount);
+        System.arraycopy(other.rows, 0, this.rows, 0, this.size);
+        System.arraycopy(other.columns, 0, this.columns, 0, this.size);
+        System.arraycopy(other.boxes, 0, this.boxes, 0, this.size);
+        System.arraycopy(other.empty, 0, this.empty, 0, this.cellCount);
+        this.emptyCount = other.emptyCount;
+        this.nakedSingles = other.nakedSingles;
+        this.hiddenSingles = other.hiddenSingles;
+        this.legal = other.legal;
+        this.found = 0;
+        this.nodes = 0;
+        this.backtracks = 0;
+        this.maxDepth = 0;
+        this.gaveUp = false;
+    }
+
+
+    /**
+     * Returns the empty cell the search would branch on first, -1 if there are
+     * no empty cells left, or -2 if the puzzle has no solution.
+     *
+     * @return The cell to branch on, or a negative number if none.
+     */
+    int branchCell() {
+        if (!this.legal)
+            return -2;
+        if (this.emptyCount == 0)
+            return -1;
+        int j = this.select(0);
+        return (j < 0) ? -2 : this.empty[j];
+    }
+
+
+    /**
+     * Returns the mask of digits that can still be placed into the cell.
+     *
+     * @param cell The index of the cell.
+     * @return The mask of candidates, bit 0 for a 1.
+     */
+    int getCandidates(int cell) {
+        return this.candidates(cell);
+    }
+
+
+    /**
+     * Places the digit into the empty cell, then fills in the cells forced by
+     * propagation. Returns false if this leaves the puzzle without a solution.
+     *
+     * @param cell The index of the cell.
+     * @param val The digit to place.
+     * @return False if the puzzle is known to have no solution, true otherwise.
+     */
+    boolean assign(int cell, int val) {
+        this.legal = this.legal && this.load(cell, val) && this.propagate();
+        return this.legal;
+    }
+
+
+    /**
+     * Empties the board and the masks, and resets the counters.
+     */
+    private void clear() {
+        Arrays.fill(this.cells, 0);
+        Arrays.fill(this.rows, 0);
+        Arrays.fill(this.columns, 0);
+        Arrays.fill(this.boxes, 0);
+        this.emptyCount = 0;
+        this.nakedSingles = 0;
+        this.hiddenSingles = 0;
+        this.found = 0;
+        this.nodes = 0;
+        this.backtracks = 0;
+        this.maxDepth = 0;
+        this.gaveUp = false;
+    }
+
+
+    /**
+     * Places a given digit into the cell. Returns false if the digit is already
+     * used in the cell's row, column or subgrid.
+     */
+    private boolean load(int cell, int val) {
+        int bit = 1 << (val - 1);
+        if ((this.candidates(cell) & bit) == 0)
+            return false;
+        this.place(cell, bit);
+        return true;
+    }
+
+
+    /**
+     * Fills in naked and hidden singles until neither rule places anything,
+     * then builds the list of empty cells for the search. Returns false if a
+     * contradiction is found, as in, a cell without candidates or a digit that
+     * no longer fits anywhere in a group.
+     */
+    private boolean propagate() {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            /* Naked singles: cells with only one candidate left */
+            for (int i = 0; i < this.cellCount; i++) {
+                if (this.cells[i] != 0)
+                    continue;
+                int free = this.candidates(i);
+                if (free == 0)
+                    return false;
+                if ((free & (free - 1)) == 0) {
+                    this.place(i, free);
+                    this.nakedSingles++;
+                    changed = true;
+                }
+            }
+
+            /* Hidden singles: digits with only one possible cell in a group */
+            for (int u = 0; u < this.units.length; u++) {
+                int once = 0, twice = 0;
+                for (int cell : this.units[u]) {
+                    if (this.cells[cell] != 0)
+                        continue;
+                    int free = this.candidates(cell);
+                    twice |= once & free;
+                    once |= free;
+                }
+                if ((once | this.used(u)) != this.allDigits)
+                    return false;
+                int single = once & ~twice;
+                while (single != 0) {
+                    int bit = single & -single;
+                    single ^= bit;
+                    for (int cell : this.units[u]) {
+                        if (this.cells[cell] == 0 && (this.candidates(cell) & bit) != 0) {
+                            this.place(cell, bit);
+                            this.hiddenSingles++;
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        /* Only the cells left empty are searched */
+        this.emptyCount = 0;
+        for (int i = 0; i < this.cellCount; i++) {
+            if (this.cells[i] == 0)
+                this.empty[this.emptyCount++] = i;
+        }
+        return true;
+    }
+
+
+    /**
+     * Searches for solutions using an explicit stack. The empty cells not yet
+     * filled are kept from index k onwards in the empty array; the cell chosen
+     * by the selection policy is swapped to index k and filled, with the digits
+     * still to try at depth k kept in remaining[k] and the digit placed in
+     * placed[k]. Stops once the limit of solutions is reached, the stop flag is
+     * set, or the budget runs out; the board is always left as it was found.
+     */
+    private void search(int limit, long start) {
+        int k = 0, steps = 0;
+        boolean descending = true;
+        while (true) {
+
+            /* Entering depth k for the first time */
+            if (descending) {
+
+                /* Checks the stop flag and the budget now and then */
+                if ((++steps & 0xFF) == 0) {
+                    if (this.stop != null && this.stop.get())
+                        break;
+                    if (this.budget.isExhausted(start, this.nodes)) {
+                        this.gaveUp = true;
+                        break;
+                    }
+                }
+
+                /* All empty cells have been filled, the first solution is kept */
+                if (k == this.emptyCount) {
+                    if (this.found == 0)
+                        System.arraycopy(this.cells, 0, this.solution, 0, this.cellCount);
+                    this.found++;
+                    if (this.found >= limit)
+                        break;
+                    descending = false;
+                    if (--k < 0)
+                        return;
+                    continue;
+                }
+
+                /* Picks the next cell to fill, a cell without candidates is a dead end */
+                this.placed[k] = 0;
+                int j = this.select(k);
+                if (j < 0) {
+                    this.backtracks++;
+                    descending = false;
+                    if (--k < 0)
+                        return;
+                    continue;
+                }
+                int cell = this.empty[j];
+                this.empty[j] = this.empty[k];
+                this.empty[k] = cell;
+                this.remaining[k] = this.candidates(cell);
+            }
+
+            /* Takes back the digit tried last at this depth */
+            int cell = this.empty[k];
+            if (this.placed[k] != 0) {
+                this.unplace(cell, this.placed[k]);
+                this.placed[k] = 0;
+            }
+
+            /* No candidates left to try, backtrack */
+            int free = this.remaining[k];
+            if (free == 0) {
+                descending = false;
+                if (--k < 0)
+                    return;
+                continue;
+            }
+
+            /* Tries the next candidate and moves one level deeper */
+            int bit = free & -free;
+            this.remaining[k] = free ^ bit;
+            this.place(cell, bit);
+            this.placed[k] = bit;
+            this.nodes++;
+            k++;
+            if (k > this.maxDepth)
+                this.maxDepth = k;
+            descending = true;
+        }
+
+        /* The limit was reached or the search stopped, takes back every digit placed */
+        for (int d = k - 1; d >= 0; d--) {
+            this.unplace(this.empty[d], this.placed[d]);
+            this.placed[d] = 0;
+        }
+    }
+
+
+    /**
+     * Returns the index of the next empty cell to fill, from index k onwards in
+     * the empty array, or -1 if one of the empty cells has no candidates left.
+     */
+    private int select(int k) {
+        if (this.selection == CellSelection.ROW_MAJOR)
+            return (this.candidates(this.empty[k]) == 0) ? -1 : k;
+
+        /* Finds the cell with the fewest candidates */
+        int best = -1, bestCount = this.size + 1, bestDegree = -1;
+        for (int i = k; i < this.emptyCount; i++) {
+            int count = Integer.bitCount(this.candidates(this.empty[i]));
+            if (count == 0)
+                return -1;
+            if (count == 1 && this.selection == CellSelection.MRV)
+                return i;
+            if (count > bestCount)
+                continue;
+
+            /* Ties are broken by the number of empty peers, if requested */
+            if (count == bestCount) {
+                if (this.selection != CellSelection.MRV_DEGREE)
+                    continue;
+                int degree = this.degree(this.empty[i]);
+                if (degree <= bestDegree)
+                    continue;
+                bestDegree = degree;
+            } else if (this.selection == CellSelection.MRV_DEGREE) {
+                bestDegree = this.degree(this.empty[i]);
+            }
+            best = i;
+            bestCount = count;
+        }
+        return best;
+    }
+
+
+    /**
+     * Returns the mask of digits that can still be placed into the cell.
+     */
+    private int candidates(int cell) {
+        return ~(this.rows[this.row[cell]] | this.columns[this.column[cell]]
+                | this.boxes[this.box[cell]]) & this.allDigits;
+    }
+
+
+    /**
+     * Returns the mask of digits already used in the group.
+     */
+    private int used(int u) {
+        if (u < this.size)
+            return this.rows[u];
+        else if (u < 2 * this.size)
+            return this.columns[u - this.size];
+        return this.boxes[u - 2 * this.size];
+    }
+
+
+    /**
+     * Returns the number of empty cells sharing a row, column or subgrid with
+     * the cell.
+     */
+    private int degree(int cell) {
+        int amt = 0;
+        for (int peer : this.peers[cell]) {
+            if (this.cells[peer] == 0)
+                amt++;
+        }
+        return amt;
+    }
+
+
+    /**
+     * Places the digit given by the bit into the cell, and marks it as used in
+     * the cell's row, column and subgrid.
+     */
+    private void place(int cell, int bit) {
+        this.cells[cell] = Integer.numberOfTrailingZeros(bit) + 1;
+        this.rows[this.row[cell]] |= bit;
+        this.columns[this.column[cell]] |= bit;
+        this.boxes[this.box[cell]] |= bit;
+    }
+
+
+    /**
+     * Removes the digit given by the bit from the cell, and frees it in the
+     * cell's row, column and subgrid.
+     */
+    private void unplace(int cell, int bit) {
+        this.cells[cell] = 0;
+        this.rows[this.row[cell]] &= ~bit;
+        this.columns[this.column[cell]] &= ~bit;
+        this.boxes[this.box[cell]] &= ~bit;
+    }
+
+} // End SolverContext class
\ No newline at end of file
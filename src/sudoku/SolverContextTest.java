@@ -0,0 +1,139 @@
+/**
+ * SolverContextTest.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Contains a test for the SolverContext class. Run this file from the project's
+ * root directory. All puzzles from the five puzzle text files are read into
+ * memory, then solved several times with a single reused context to warm up.
+ * They are then solved again while the bytes allocated by the thread are
+ * counted; the test fails if solving allocated anything. The puzzles are also
+ * solved on a thread with a 16 KB stack, and empty 4x4 to 25x25 boards are
+ * solved to check the search on other board sizes.
+ *
+ * Usage: java SolverContextTest
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+public class SolverContextTest {
+
+    /* Number of times the puzzles are solved before counting allocations */
+    private static final int WARMUP_ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+
+        /* Reads all puzzles into memory first, so reading is not counted */
+        ArrayList<String> list = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            BufferedReader br = new BufferedReader(new FileReader("src/sudoku/" + i + ".txt"));
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.length() >= 81)
+                    list.add(line);
+            }
+            br.close();
+        }
+        String[] puzzles = list.toArray(new String[list.size()]);
+
+        /* The allocation counter is HotSpot specific */
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+
+        /* Warms up the solver so class loading and compilation are not counted */
+        SolverContext context = new SolverContext();
+        int solved = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+            solved += solveAll(context, puzzles);
+
+        /* Measures the cost of reading the counter itself */
+        long before = bean.getThreadAllocatedBytes(id);
+        long overhead = bean.getThreadAllocatedBytes(id) - before;
+
+        /* Solves every puzzle again, counting the bytes allocated */
+        before = bean.getThreadAllocatedBytes(id);
+        solved += solveAll(context, puzzles);
+        long allocated = bean.getThreadAllocatedBytes(id) - before - overhead;
+
+        /* Every puzzle must be solved, without allocating */
+        if (solved != puzzles.length * (WARMUP_ROUNDS + 1)) {
+            System.err.println("Error - Solver context failed to solve a puzzle.");
+            System.exit(1);
+        }
+        if (allocated > 0) {
+            System.err.printf("Error - Solving %d puzzles allocated %d bytes.\n",
+                    puzzles.length, allocated);
+            System.exit(1);
+        }
+        System.out.printf("%d puzzles solved, %d bytes allocated.\n", puzzles.length, allocated);
+
+        /* Solves the puzzles again on a thread with a small stack */
+        final int[] result = new int[1];
+        Thread thread = new Thread(null, new Runnable() {
+            @Override
+            public void run() {
+                result[0] = solveAll(new SolverContext(), puzzles);
+            }
+        }, "small-stack", 16 * 1024);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {/* Ignore exceptions */}
+        if (result[0] != puzzles.length) {
+            System.err.println("Error - Solver context failed on a small stack.");
+            System.exit(1);
+        }
+        System.out.printf("%d puzzles solved on a 16 KB stack.\n", result[0]);
+
+        /* Solves empty boards of the other sizes */
+        for (int n = 2; n <= 5; n++) {
+            BoardGeometry g = BoardGeometry.forBoxSize(n);
+            SolverContext c = new SolverContext(g, CellSelection.MRV);
+            if (!c.reset(new String(new char[g.cellCount]).replace('\0', '0'))
+                    || !c.solve() || !isValid(c, g)) {
+                System.err.printf("Error - Failed to solve an empty %dx%d board.\n", g.size, g.size);
+                System.exit(1);
+            }
+            System.out.printf("Empty %dx%d board solved.\n", g.size, g.size);
+        }
+        System.out.println("Solver Context Test Passed!");
+    }
+
+
+    /**
+     * Solves each of the puzzles with the context, checking that each has a
+     * unique solution. Returns the number of puzzles that passed.
+     */
+    private static int solveAll(SolverContext context, String[] puzzles) {
+        int solved = 0;
+        for (String s : puzzles) {
+            if (context.reset(s) && context.countSolutions(2) == 1)
+                solved++;
+        }
+        return solved;
+    }
+
+
+    /**
+     * Returns true if every row, column and subgrid of the context's solution
+     * holds each digit exactly once.
+     */
+    private static boolean isValid(SolverContext context, BoardGeometry g) {
+        for (int[] unit : g.units) {
+            int seen = 0;
+            for (int cell : unit)
+                seen |= 1 << (context.getSolutionValue(cell) - 1);
+            if (seen != g.allDigits)
+                return false;
+        }
+        return true;
+    }
+
+} // End SolverContextTest class
\ No newline at end of file
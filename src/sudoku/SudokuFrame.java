@@ -37,7 +37,7 @@ public class SudokuFrame extends JFrame {
     private final JTextPane[] legalBoxes;
     private boolean[][] editable;
     private SudokuPuzzle puzzle;
-    private SudokuSolver solution;
+    private Solver solution;
     private final int difficulty;
     private final boolean loop;
     private final String path;
@@ -47,10 +47,16 @@ public class SudokuFrame extends JFrame {
 
     /* Default constructor */
     public SudokuFrame(SudokuPuzzle p, boolean loop, String path, int x, int y) {
+        this(p, SolverBackend.getDefault().solve(p), loop, path, x, y);
+    }
+
+
+    /* Secondary constructor, takes the solver that has already solved the puzzle */
+    public SudokuFrame(SudokuPuzzle p, Solver s, boolean loop, String path, int x, int y) {
 
         /* Sets up the window components and design */
         this.puzzle = p;
-        this.solution = new SudokuSolver(this.puzzle);
+        this.solution = s;
         this.difficulty = p.getDifficulty();
         this.loop = loop;
         this.path = path;
@@ -172,9 +178,9 @@ public class SudokuFrame extends JFrame {
                                 e.getKeyChar() == '7' || e.getKeyChar() == '8' ||
                                 e.getKeyChar() == '9')) {
                             pane.setText("");  /* If not a valid number, delete the value in square */
-                            String str = puzzle.getConflictingSquares(m, n);
+                            CellSet conflicts = puzzle.getConflicts(m, n);
                             puzzle.remove(m, n);
-                            correct(str);
+                            correct(conflicts);
                         } else {
                             int x = Integer.parseInt(Character.toString(e.getKeyChar()));
                             if (x == highlighted)
@@ -182,15 +188,15 @@ public class SudokuFrame extends JFrame {
                             else
                                 pane.setForeground(GUIColors.BLUE);
                             pane.setText(Integer.toString(x));
-                            String str = puzzle.getConflictingSquares(m, n);
+                            CellSet conflicts = puzzle.getConflicts(m, n);
                             if (!puzzle.insert(x, m, n)) {
                                 if (Settings.showConflictingNumbers()) {
-                                    correct(str);
-                                    mark(puzzle.getConflictingSquares(m, n));
+                                    correct(conflicts);
+                                    mark(puzzle.getConflicts(m, n));
                                     pane.setForeground(GUIColors.RED);
                                 }
                             } else
-                                correct(str);
+                                correct(conflicts);
                         } updateStatus(true);
                     }
                     @Override
@@ -298,19 +304,13 @@ public class SudokuFrame extends JFrame {
                     else
                         this.fields[i][j].setText("");
                 } k++;
-
-                /* Illegally inserted numbers are highlighted red */
-                if (Settings.showConflictingNumbers()) {
-                    boolean[] temp = this.puzzle.getLegalMoves(i, j);
-                    int val = this.puzzle.getValue(i, j);
-                    if (val != 0 && !temp[val-1]) {
-                        this.mark(this.puzzle.getConflictingSquares(i, j));
-                        this.fields[i][j].setForeground(GUIColors.RED);
-                    }
-                }
             }
         }
 
+        /* Illegally inserted numbers are highlighted red */
+        if (Settings.showConflictingNumbers())
+            this.mark(this.puzzle.getConflictMap());
+
         /* Updates the status, repaints the grid */
         this.updateStatus(true);
         this.repaint();
@@ -368,12 +368,12 @@ public class SudokuFrame extends JFrame {
     private void updateLegalMoves(int i, int j) {
 
         /* Get the legal moves for the tile */
-        boolean[] legalMoves = this.puzzle.getLegalMoves(i, j);
+        int legalMoves = this.puzzle.getLegalMask(i, j);
         for (int k = 0; k < 9; k++) {
 
             /* Only update if the focused tile is editable */
             if (this.editable[i][j]) {
-                if (legalMoves[k])
+                if ((legalMoves & (1 << k)) != 0)
                     this.legalBoxes[k].setText(Integer.toString(k + 1));
                 else
                     this.legalBoxes[k].setText("");
@@ -472,15 +472,11 @@ public class SudokuFrame extends JFrame {
 
 
     /**
-     * Marks all conflicting tiles given by the string in red.
+     * Marks all conflicting tiles in the set in red.
      */
-    private void mark(String str) {
-        for (int i = 0; i < str.length(); i += 6) {
-            String coor = str.substring(i, i + 6);
-            int x = Integer.parseInt(Character.toString(coor.charAt(1)));
-            int y = Integer.parseInt(Character.toString(coor.charAt(3)));
-            this.fields[x][y].setForeground(GUIColors.RED);
-        }
+    private void mark(CellSet set) {
+        for (int i = set.first(); i >= 0; i = set.next(i))
+            this.fields[i / 9][i % 9].setForeground(GUIColors.RED);
     }
 
 
@@ -488,17 +484,15 @@ public class SudokuFrame extends JFrame {
      * Recolors all the grids back to black if they do not contain any conflicting
      * tiles.
      */
-    private void correct(String str) {
-        for (int i = 0; i < str.length(); i += 6) {
-            String coor = str.substring(i, i + 6);
-            int x = Integer.parseInt(Character.toString(coor.charAt(1)));
-            int y = Integer.parseInt(Character.toString(coor.charAt(3)));
-            if (this.puzzle.getConflictingSquares(x, y).isEmpty()) {
+    private void correct(CellSet set) {
+        for (int i = set.first(); i >= 0; i = set.next(i)) {
+            int x = i / 9, y = i % 9;
+            if (!this.puzzle.hasConflict(x, y)) {
                 if (!this.editable[x][y])
                     this.fields[x][y].setForeground(GUIColors.BLACK);
                 else
                     this.fields[x][y].setForeground(GUIColors.BLUE);
-                if (Integer.parseInt(this.fields[x][y].getText()) == this.highlighted)
+                if (this.puzzle.getValue(x, y) == this.highlighted)
                     this.fields[x][y].setForeground(GUIColors.GREEN);
             }
         }
@@ -539,24 +533,22 @@ public class SudokuFrame extends JFrame {
         if (!this.loop)
             return;
 
-        /* Get the new puzzle */
-        SudokuGenerator gen = new SudokuGenerator(this.difficulty);
-        this.puzzle = gen.getPuzzle();
-        this.solution = new SudokuSolver(this.puzzle);
-
         /* Ask if the user is sure if the current puzzle is not complete */
-        if (this.completeField.getForeground() != GUIColors.DARK_GREEN) {
-            if (WindowUtility.askYesNo("You will lose your current progress on this puzzle.\n"
-                    + "Are you sure you want to start a new game?", "Warning!")) {
-                this.initializeTable();
-                this.resetTimer();
-            }
+        if (this.completeField.getForeground() != GUIColors.DARK_GREEN
+                && !WindowUtility.askYesNo("You will lose your current progress on this puzzle.\n"
+                + "Are you sure you want to start a new game?", "Warning!"))
+            return;
 
-        /* Restart the game immediately if complete */
-        } else {
-            this.initializeTable();
-            this.resetTimer();
+        /* Get the new puzzle, already drawn and solved in the background */
+        PreparedPuzzle next = PuzzleSupplier.forDifficulty(this.difficulty).take();
+        if (next == null) {
+            WindowUtility.errorMessage("Failed to generate a new puzzle.", "Error!");
+            return;
         }
+        this.puzzle = next.getPuzzle();
+        this.solution = next.getSolver();
+        this.initializeTable();
+        this.resetTimer();
     }
 
 
@@ -617,9 +609,9 @@ public class SudokuFrame extends JFrame {
 
                 /* Checks to see if the value is correct, inserts numebr into tile if not */
                 if (this.puzzle.getValue(i, j) != a[i][j]) {
-                    String str = this.puzzle.getConflictingSquares(i, j);
+                    CellSet conflicts = this.puzzle.getConflicts(i, j);
                     this.puzzle.insert(a[i][j], i, j);
-                    this.correct(str);
+                    this.correct(conflicts);
                     this.fields[i][j].setText(Integer.toString(a[i][j]));
                     this.editable[i][j] = false;
 
@@ -655,8 +647,9 @@ public class SudokuFrame extends JFrame {
 
         /* Imports the solution */
         int x = this.puzzle.getDifficulty();
-        this.importBoard(this.solution.getSolution().toArray());
-        this.puzzle = this.solution.getSolution();
+        SudokuPuzzle solved = this.solution.getSolution();
+        this.importBoard(solved.toArray());
+        this.puzzle = solved;
         this.puzzle.setDifficulty(x);
         for (int i = 0; i < 9; i++)
             for (int j = 0; j < 9; j++)
@@ -5,24 +5,43 @@
  * Class that contains a method for obtaining a newly generated Sudoku puzzle,
  * given a specified difficulty labeled 1-5; 1 = novice, 2 = easy, 3 = medium,
  * 4 = hard, 5+ = expert.
+ *
+ * The puzzles come from a PuzzleBank for each difficulty, opened the first
+ * time a puzzle of that difficulty is needed and kept open afterwards, so a
+ * new game reads a single puzzle rather than the lines before it. The binary
+ * banks (N.bank, see BinaryPuzzleBank) are used when present, falling back to
+ * the text banks (N.txt). When started with -Dsudoku.generator=random, new
+ * puzzles with the same number of givens as the banks' are generated by a
+ * PuzzleGenerator instead, so players don't see the same puzzles again; their
+ * givens are laid out with the symmetry set by -Dsudoku.symmetry (see
+ * Symmetry.getDefault()).
  */
 package sudoku;
 
 
 /* Imports */
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URL;
 import java.util.Random;
 
 public class SudokuGenerator {
 
+    /* Banks of puzzles for each difficulty, opened on first use */
+    private static final PuzzleBank[] BANKS = new PuzzleBank[5];
+
     /* Declare private members */
     private final SudokuPuzzle puzzle;
 
 
     /* Default constructor */
     public SudokuGenerator(int i) {
+        this(i, new Random());
+    }
+
+
+    /* Secondary constructor, takes the random number generator used to pick the puzzle */
+    public SudokuGenerator(int i, Random r) {
 
         /* Resets the difficulty variables if too low/high */
         if (i < 1)
@@ -31,40 +50,78 @@ public class SudokuGenerator {
             i = 5;
 
         /* Generates the puzzle */
-        this.puzzle = getPuzzle(i);
+        this.puzzle = getPuzzle(i, r);
     }
 
 
     /**
-     * Private method invoked in the constructor. Reads from the specified text
-     * file corresponding to the desired difficulty, achieves a random sudoku
-     * puzzle from the file.
+     * Private method invoked in the constructor. Picks a random puzzle from
+     * the bank of the specified difficulty.
      */
-    private SudokuPuzzle getPuzzle(int i) {
+    private SudokuPuzzle getPuzzle(int i, Random r) {
 
-        /* Attempts to read from one of the resource text files containing the puzzles */
+        /* Generates a new puzzle instead if enabled */
+        if (isGenerating())
+            return new PuzzleGenerator(r, Symmetry.getDefault()).generatePuzzle(i);
+
+        /* Attempts to read a random puzzle from the bank */
         try {
+            PuzzleBank bank = getBank(i);
+            SudokuPuzzle p = new SudokuPuzzle();
+            bank.decode(r.nextInt(bank.size()), p);
+            p.setDifficulty(i);
+            return p;
 
-            /* Creates the streams to read from the file */
-            InputStream stream = SudokuGenerator.class.getResourceAsStream(i + ".txt");
-            BufferedReader reader = new BufferedReader(new InputStreamReader(stream));
+        } catch (Exception e) {return null;}
+    }
 
-            /* Chooses a random number; randomly selects a puzzle from the file */
-            Random r = new Random();
-            int k = r.nextInt(10000);
-            String line = reader.readLine();
 
-            /* Reads through k puzzles */
-            for (int j = 0; j < k-1; j++)
-                line = reader.readLine();
+    /**
+     * Returns the number of givens of the puzzles of the specified difficulty:
+     * 45 for novice puzzles, down to 25 for expert puzzles.
+     *
+     * @param i The difficulty, from 1-5.
+     * @return The number of givens.
+     */
+    public static int getGivens(int i) {
+        return 50 - 5 * Math.max(1, Math.min(5, i));
+    }
 
-            /* Obtains and returns the puzzle, close the reader */
-            SudokuPuzzle p = new SudokuPuzzle(line);
-            p.setDifficulty(i);
-            reader.close();
-            return p;
 
-        } catch (Exception e) {return null;}
+    /**
+     * Returns true if new puzzles are generated by a PuzzleGenerator rather
+     * than picked from the banks; enabled by starting the program with
+     * -Dsudoku.generator=random.
+     *
+     * @return True if puzzles are generated, false if picked from the banks.
+     */
+    public static boolean isGenerating() {
+        return "random".equalsIgnoreCase(System.getProperty("sudoku.generator"));
+    }
+
+
+    /**
+     * Returns the bank of puzzles of the specified difficulty, opening it the
+     * first time it's needed. The binary resource bank is used if there is
+     * one, or the text bank if not.
+     *
+     * @param i The difficulty, from 1-5.
+     * @return The bank of puzzles of the difficulty.
+     * @throws IOException If the bank could not be opened.
+     */
+    static synchronized PuzzleBank getBank(int i) throws IOException {
+        if (BANKS[i - 1] == null) {
+            URL url = SudokuGenerator.class.getResource(i + ".bank");
+            if (url != null) {
+                BANKS[i - 1] = BinaryPuzzleBank.open(url);
+            } else {
+                url = SudokuGenerator.class.getResource(i + ".txt");
+                if (url == null)
+                    throw new FileNotFoundException(i + ".txt");
+                BANKS[i - 1] = TextPuzzleBank.open(url);
+            }
+        }
+        return BANKS[i - 1];
     }
 
 
@@ -34,7 +34,7 @@ public class SudokuGeneratorTest {
             /* Creates a puzzle of a random difficulty, attempts to solve it */
             SudokuGenerator gen = new SudokuGenerator(r.nextInt(5) + 1);
             SudokuPuzzle p = gen.getPuzzle();
-            SudokuSolver s = new SudokuSolver(p);
+            Solver s = SolverBackend.getDefault().solve(p);
             if (s.isSolvable())
                 solvable++;
         }
@@ -5,6 +5,14 @@
  * Class that represents a Sudoku puzzle. A string is passed into the constructor
  * containing 81 characters/numbers, and the board is constructed from that.
  * The board is represetned as a 9x9 2-dimensional integer array.
+ *
+ * Alongside the board, the puzzle keeps bitmasks of the numbers used in each
+ * row, column and subgrid (bit 0 for a 1, bit 1 for a 2, and so forth), along
+ * with the number of filled tiles and of duplicate numbers. Changing a tile
+ * rescans only its row, column and subgrid to update these, so the legal moves
+ * of a tile and the completeness of the puzzle are found without scanning the
+ * board. Which tiles conflict is found from the board when asked for, keeping
+ * each puzzle small; boards stored in bulk should use PackedBoard instead.
  */
 package sudoku;
 
@@ -15,6 +23,8 @@ public class SudokuPuzzle {
     private int difficulty;
     private String initialState;
     private int[][] board;
+    private final int[] rows, columns, subGrids;
+    private int filled, conflicts;
 
 
     /* Default constructor */
@@ -30,19 +40,13 @@ public class SudokuPuzzle {
         this.difficulty = 0;
         this.initialState = init;
         this.board = new int[9][9];
-        char[] chars = init.toCharArray();
-        int temp, index = 0;
+        this.rows = new int[9];
+        this.columns = new int[9];
+        this.subGrids = new int[9];
 
-        /* Loops through the given string, parsing each value and setting up the board */
-        for (int i = 0; i < 9; i++) {
-            for (int j = 0; j < 9; j++) {
-                temp = Character.getNumericValue(chars[index++]);
-                if (temp == -1)     /* Non-integers in string are set as 0 */
-                    this.board[i][j] = 0;
-                else
-                    this.board[i][j] = temp;
-            }
-        }
+        /* Parses the string into the board, non-integers in string are set as 0 */
+        PuzzleCodec.decode(init, this.board);
+        this.recount();
     }
 
 
@@ -59,9 +63,8 @@ public class SudokuPuzzle {
     public boolean insert(int val, int r, int c) {
         if (1 > val || val > 9 || 0 > r || r > 8 || 0 > c || c > 8)
             return false;
-        this.board[r][c] = val;
-        boolean[] legalMoves = this.getLegalMoves(r, c);
-        return legalMoves[this.board[r][c]-1];
+        this.set(r, c, val);
+        return (this.getLegalMask(r, c) & (1 << (val - 1))) != 0;
     }
 
 
@@ -74,7 +77,7 @@ public class SudokuPuzzle {
     public void remove(int r, int c) {
         if (0 > r || r > 8 || 0 > c || c > 8)
             return;
-        this.board[r][c] = 0;
+        this.set(r, c, 0);
     }
 
 
@@ -89,14 +92,35 @@ public class SudokuPuzzle {
      * @return A list of booleans representing the legal moves to make.
      */
     public boolean[] getLegalMoves(int r, int c) {
-        boolean[] legalMoves = {true, true, true, true, true, true, true, true, true};
-        legalMoves = this.legalMovesInRow(r, c, legalMoves);
-        legalMoves = this.legalMovesInColumn(c, r, legalMoves);
-        legalMoves = this.legalMovesInSubGrid(r, c, legalMoves);
+        int mask = this.getLegalMask(r, c);
+        boolean[] legalMoves = new boolean[9];
+        for (int k = 0; k < 9; k++)
+            legalMoves[k] = (mask & (1 << k)) != 0;
         return legalMoves;
     }
 
 
+    /**
+     * Returns a bitmask of the legal numbers that can be inserted into the
+     * specified square, as in, the numbers not used by any other square in its
+     * row, column or subgrid. Bit 0 represents a 1, bit 1 represents a 2, and
+     * so forth. Same as getLegalMoves(), but without allocating an array.
+     *
+     * @param r The row the tile is in.
+     * @param c The column the tile is in.
+     * @return The bitmask of the legal moves to make.
+     */
+    public int getLegalMask(int r, int c) {
+        int used = this.rows[r] | this.columns[c] | this.subGrids[(r / 3) * 3 + c / 3];
+
+        /* The tile's own number only counts if another tile also uses it */
+        int val = this.board[r][c];
+        if (val >= 1 && val <= 9 && !this.hasConflict(r, c))
+            used &= ~(1 << (val - 1));
+        return ~used & 0x1FF;
+    }
+
+
     /**
      * Returns the number held at the specified tile on the board. If the tile
      * is empty, 0 is returned.
@@ -117,16 +141,7 @@ public class SudokuPuzzle {
      * @return True if the current state of the puzzle is solvable, false if not.
      */
     public boolean isPossible() {
-        for (int i = 0; i < 9; i++) {
-            for (int j = 0; j < 9; j++) {
-                if (this.board[i][j] == 0)
-                    continue;
-                boolean temp[] = this.getLegalMoves(i, j);
-                if (!temp[this.board[i][j] - 1])
-                    return false;
-            }
-        }
-        return true;
+        return this.conflicts == 0;
     }
 
 
@@ -137,29 +152,7 @@ public class SudokuPuzzle {
      * @return True if the puzzle is complete, or false if not.
      */
     public boolean isComplete() {
-
-        /* Check all rows */
-        for (int i = 0; i < 9; i++) {
-            if (!this.rowIsComplete(i))
-                return false;
-        }
-
-        /* Check all columns */
-        for (int i = 0; i < 9; i++) {
-            if (!this.columnIsComplete(i))
-                return false;
-        }
-
-        /* Check all subgrids */
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                if (!this.subGridIsComplete(i * 3, j * 3))
-                    return false;
-            }
-        }
-
-        /* All constraints satisfied */
-        return true;
+        return this.filled == 81 && this.conflicts == 0;
     }
 
 
@@ -189,18 +182,8 @@ public class SudokuPuzzle {
      */
     public void resetPuzzle() {
         this.board = new int[9][9];
-        char[] chars = this.initialState.toCharArray();
-        int temp, index = 0;
-
-        for (int i = 0; i < 9; i++) {
-            for (int j = 0; j < 9; j++) {
-                temp = Character.getNumericValue(chars[index++]);
-                if (temp == -1)
-                    this.board[i][j] = 0;
-                else
-                    this.board[i][j] = temp;
-            }
-        }
+        PuzzleCodec.decode(this.initialState, this.board);
+        this.recount();
     }
 
 
@@ -212,6 +195,7 @@ public class SudokuPuzzle {
         for (int i = 0; i < 9; i++)
             for (int j = 0; j < 9; j++)
                 this.board[i][j] = 0;
+        this.recount();
         this.initialState = this.currentPuzzleState();
     }
 
@@ -223,40 +207,119 @@ public class SudokuPuzzle {
      * @return The number of tiles filled on the Sudoku puzzle, from 0-81.
      */
     protected int getNumberFilled() {
-        int amt = 0;
-        for (int i = 0; i < 9; i++) {
-            for (int j = 0; j < 9; j++) {
-                if (this.board[i][j] != 0)
-                    amt++;
+        return this.filled;
+    }
+
+
+    /**
+     * Returns the number of duplicate numbers on the board: for each row,
+     * column and subgrid, each number used more than once counts once for
+     * every extra use. The puzzle has no conflicts if this is 0.
+     *
+     * @return The number of duplicate numbers in rows, columns and subgrids.
+     */
+    public int getConflictCount() {
+        return this.conflicts;
+    }
+
+
+    /**
+     * Returns the set of squares in the Sudoku puzzle that conflict with the
+     * given tile, as in, the other tiles in its row, column and subgrid holding
+     * the same number. Used for highlighting other tiles that conflict with an
+     * illegal insertion. An empty tile has no conflicts.
+     *
+     * @param r The row of the tile.
+     * @param c The column of the tile.
+     * @return The set of conflicting squares, empty if there are none.
+     */
+    public CellSet getConflicts(int r, int c) {
+        if (!this.hasConflict(r, c))
+            return CellSet.EMPTY;
+        int val = this.board[r][c];
+        long low = 0, high = 0;
+        for (int k = 0; k < 9; k++) {
+            int m = (r / 3) * 3 + k / 3;
+            int n = (c / 3) * 3 + k % 3;
+            if (k != c && this.board[r][k] == val) {
+                low |= lowBit(r * 9 + k);
+                high |= highBit(r * 9 + k);
+            }
+            if (k != r && this.board[k][c] == val) {
+                low |= lowBit(k * 9 + c);
+                high |= highBit(k * 9 + c);
+            }
+            if ((m != r || n != c) && this.board[m][n] == val) {
+                low |= lowBit(m * 9 + n);
+                high |= highBit(m * 9 + n);
             }
         }
-        return amt;
+        return new CellSet(low, high);
     }
 
 
     /**
-     * Returns a string representation of the list of the squares in the Sudoku
-     * puzzle that conflict with the given tile. The string contains the list
-     * of these tiles in the format "(i, j) (i, j) (i, j)...", where i is
-     * the row and j is the column. Used for highlighting other tiles that
-     * conflict with an illegal insertion.
+     * Returns the set of all tiles on the board that conflict with another
+     * tile, as in, every tile whose number is used more than once in its row,
+     * column or subgrid. Found with one pass over each row, column and
+     * subgrid, instead of getting the conflicts of every tile.
+     *
+     * @return The set of conflicting tiles, empty if there are none.
+     */
+    public CellSet getConflictMap() {
+        if (this.conflicts == 0)
+            return CellSet.EMPTY;
+        long low = 0, high = 0;
+        for (int group = 0; group < 27; group++) {
+
+            /* Finds the numbers used more than once in the group */
+            int seen = 0, repeated = 0;
+            for (int k = 0; k < 9; k++) {
+                int bit = this.bit(tile(group, k));
+                repeated |= seen & bit;
+                seen |= bit;
+            }
+
+            /* Marks every tile of the group holding one of them */
+            for (int k = 0; repeated != 0 && k < 9; k++) {
+                int i = tile(group, k);
+                if ((this.bit(i) & repeated) != 0) {
+                    low |= lowBit(i);
+                    high |= highBit(i);
+                }
+            }
+        }
+        return new CellSet(low, high);
+    }
+
+
+    /**
+     * Returns true if the number in the given tile is also used by another tile
+     * in its row, column or subgrid, or false if not or if the tile is empty.
      *
      * @param r The row of the tile.
      * @param c The column of the tile.
-     * @return The string containing the conflicting squares, to be extracted
-     * for highlighting.
+     * @return True if the tile conflicts with another, false if not.
      */
-    protected String getConflictingSquares(int r, int c) {
-        String str = "";
-        str = this.getConflictingRow(r, c, str);
-        str = this.getConflictingColumn(c, r, str);
-        str = this.getConflictingSubGrid(r, c, str);
-        return str;
+    public boolean hasConflict(int r, int c) {
+        int val = this.board[r][c];
+        if (val < 1 || val > 9)
+            return false;
+        for (int k = 0; k < 9; k++) {
+            int m = (r / 3) * 3 + k / 3;
+            int n = (c / 3) * 3 + k % 3;
+            if ((k != c && this.board[r][k] == val) || (k != r && this.board[k][c] == val)
+                    || ((m != r || n != c) && this.board[m][n] == val))
+                return true;
+        }
+        return false;
     }
 
 
     /**
-     * Returns a 2-d integer array representing the Sudoku board.
+     * Returns a 2-d integer array representing the Sudoku board. The array is
+     * the puzzle's own board, and must not be modified; use insert() and
+     * remove() instead.
      *
      * @return The 2-d array representing the Sudoku board.
      */
@@ -273,6 +336,7 @@ public class SudokuPuzzle {
      */
     protected void setArray(int[][] b) {
         this.board = b;
+        this.recount();
     }
 
 
@@ -327,192 +391,106 @@ public class SudokuPuzzle {
      * @return A string representing the current state of the Sudoku puzzle.
      */
     protected String currentPuzzleState() {
-        String s = "";
-        for (int i = 0; i < 9; i++) {
-            for (int j = 0; j < 9; j++) {
-                s += this.board[i][j];
-            }
-        }
-        return s;
+        return PuzzleCodec.encode(this.board);
     }
 
 
     ////////////////////////////////////////////////////////
-    //       --- Completion Checker Methods --            //
-    //  These methods are invoked when checking the       //
-    //  sudoku board for completeness. Contains a         //
-    //  method for checking a row, a column, and one for  //
-    //  the subgrid.                                      //
+    //       --- Occupancy Mask Methods --                //
+    //  These methods keep the masks of the numbers used  //
+    //  in each row, column, and subgrid up to date as    //
+    //  numbers are inserted and removed.                 //
     ////////////////////////////////////////////////////////
-    //<editor-fold defaultstate="collapsed" desc=" Sudoku puzzle checking functions ">
-
-    /**
-     * Returns true if the specified row is complete, as in, it contains all
-     * numbers 1-9, or false if not.
-     */
-    private boolean rowIsComplete(int r) {
-        boolean[] row = {false, false, false, false, false, false, false, false, false};
-        for (int i = 0; i < 9; i++) {
-            if (this.board[r][i] == 0)
-                return false;
-            else if (row[this.board[r][i]-1])
-                return false;
-            else
-                row[this.board[r][i]-1] = true;
-        }
-        return true;
-    }
-
-    /**
-     * Returns true if the specified column is complete, as in, it contains all
-     * numbers 1-9, or false if not.
-     */
-    private boolean columnIsComplete(int c) {
-        boolean[] row = {false, false, false, false, false, false, false, false, false};
-        for (int i = 0; i < 9; i++) {
-            if (this.board[i][c] == 0)
-                return false;
-            else if (row[this.board[i][c]-1])
-                return false;
-            else
-                row[this.board[i][c]-1] = true;
-        }
-        return true;
-    }
+    //<editor-fold defaultstate="collapsed" desc=" Sudoku puzzle occupancy mask functions ">
 
     /**
-     * Returns true if the subgrid at the specified location is complete, as in,
-     * it contains all numbers 1-9, or false if not.
+     * Sets the tile to the specified number, or empties it if 0, rescanning
+     * the tile's row, column and subgrid to update their masks and the number
+     * of conflicts.
      */
-    private boolean subGridIsComplete(int r, int c) {
-        boolean[] grid = {false, false, false, false, false, false, false, false, false};
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                int m = ((r / 3) * 3 + (i % 3));
-                int n = ((c / 3) * 3 + (j % 3));
-                if (this.board[m][n] == 0)
-                    return false;
-                else if (grid[this.board[m][n]-1])
-                    return false;
-                else
-                    grid[this.board[m][n]-1] = true;
-            }
-        }
-        return true;
+    private void set(int r, int c, int val) {
+        int g = (r / 3) * 3 + c / 3;
+        this.conflicts -= this.scan(r) + this.scan(9 + c) + this.scan(18 + g);
+        if (this.bit(r * 9 + c) != 0)
+            this.filled--;
+        this.board[r][c] = val;
+        if (this.bit(r * 9 + c) != 0)
+            this.filled++;
+        this.conflicts += this.scan(r) + this.scan(9 + c) + this.scan(18 + g);
     }
-    //</editor-fold>
-
-    ////////////////////////////////////////////////////////
-    //       --- Conflicting Square Methods --            //
-    //  These methods are invoked when checking a space   //
-    //  on the sudoku board for the list of squares that  //
-    //  conflict with the given square. Contains a method //
-    //  for checking a row, a column, and one for the     //
-    //  subgrid.                                          //
-    ////////////////////////////////////////////////////////
-    //<editor-fold defaultstate="collapsed" desc=" Sudoku puzzle illegal checker functions ">
 
     /**
-     * Returns a string of coordinates of the tiles in the row that conflict
-     * with the specified tile.
+     * Sets the mask of the group from the numbers in its tiles, and returns
+     * the number of duplicates in it: every use of a number past the first.
+     * Groups 0-8 are the rows, 9-17 the columns and 18-26 the subgrids.
      */
-    private String getConflictingRow(int r, int c, String squares) {
-
+    private int scan(int group) {
+        int mask = 0, duplicates = 0;
         for (int k = 0; k < 9; k++) {
-            if (k == c)
-                continue;
-
-            if (this.board[r][c] == this.board[r][k])
-                squares += String.format("(%d %d) ", r, k);
+            int bit = this.bit(tile(group, k));
+            if ((mask & bit) != 0)
+                duplicates++;
+            mask |= bit;
         }
-        return squares;
+        if (group < 9)
+            this.rows[group] = mask;
+        else if (group < 18)
+            this.columns[group - 9] = mask;
+        else
+            this.subGrids[group - 18] = mask;
+        return duplicates;
     }
 
-
     /**
-     * Returns a string of coordinates of the tiles in the column that conflict
-     * with the specified tile.
+     * Returns the index of the k-th tile of the group, numbered as in scan().
      */
-    private String getConflictingColumn(int c, int r, String squares) {
-        for (int k = 0; k < 9; k++) {
-            if (k == r)
-                continue;
-            if (this.board[r][c] == this.board[k][c])
-                squares += String.format("(%d %d) ", k, c);
-        }
-        return squares;
+    private static int tile(int group, int k) {
+        int g = group % 9;
+        if (group < 9)
+            return g * 9 + k;
+        if (group < 18)
+            return k * 9 + g;
+        return ((g / 3) * 3 + k / 3) * 9 + (g % 3) * 3 + k % 3;
     }
 
-
     /**
-     * Returns a string of coordinates of the tiles in the subgrid that conflict
-     * with the specified tile.
+     * Returns the mask bit of the number in the tile, or 0 if the tile is
+     * empty or holds a number outside 1-9.
      */
-    private String getConflictingSubGrid(int r, int c, String squares) {
-         for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                int m = ((r / 3) * 3 + (i % 3));
-                int n = ((c / 3) * 3 + (j % 3));
-                if (r == m && c == n)
-                    continue;
-                if (this.board[m][n] == this.board[r][c])
-                    squares += String.format("(%d %d) ", m, n);
-            }
-        }
-        return squares;
+    private int bit(int i) {
+        int val = this.board[i / 9][i % 9];
+        return (val >= 1 && val <= 9) ? 1 << (val - 1) : 0;
     }
-    //</editor-fold>
-
-    ////////////////////////////////////////////////////////
-    //       --- Legal Moves Helper Methods --            //
-    //  These methods are invoked when checking a space   //
-    //  on the sudoku board for the list of legal moves.  //
-    //  Contains a method for checking a row, a column,   //
-    //  and one for the subgrid.                          //
-    ////////////////////////////////////////////////////////
-    //<editor-fold defaultstate="collapsed" desc=" Sudoku puzzle legal moves checker functions ">
 
     /**
-     * Returns an array of moves that are legal within the specified row.
+     * Returns the bit of the tile in the first word of a CellSet, or 0 if the
+     * tile is in the second word.
      */
-    private boolean[] legalMovesInRow(int r, int c, boolean[] list) {
-        for (int i = 0; i < 9; i++) {
-            if (i == c)
-                continue;
-            if (this.board[r][i] != 0)
-                list[this.board[r][i]-1] = false;
-        }
-        return list;
+    private static long lowBit(int i) {
+        return (i < 64) ? 1L << i : 0;
     }
 
     /**
-     * Returns an array of moves that are legal within the specified column.
+     * Returns the bit of the tile in the second word of a CellSet, or 0 if the
+     * tile is in the first word.
      */
-    private boolean[] legalMovesInColumn(int c, int r, boolean[] list) {
-        for (int i = 0; i < 9; i++) {
-            if (i == r)
-                continue;
-            if (this.board[i][c] != 0)
-                list[this.board[i][c]-1] = false;
-        }
-        return list;
+    private static long highBit(int i) {
+        return (i < 64) ? 0 : 1L << (i - 64);
     }
 
     /**
-     * Returns an array of moves that are legal within the specified subgrid.
+     * Rebuilds the masks, filled tiles and conflicts from the whole board, after
+     * the board was replaced or reset.
      */
-    private boolean[] legalMovesInSubGrid(int r, int c, boolean[] list) {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                int m = ((r / 3) * 3 + (i % 3));
-                int n = ((c / 3) * 3 + (j % 3));
-                if (r == m && c == n)
-                    continue;
-                if (this.board[m][n] != 0)
-                    list[this.board[m][n]-1] = false;
-            }
+    private void recount() {
+        this.filled = 0;
+        this.conflicts = 0;
+        for (int i = 0; i < 81; i++) {
+            if (this.bit(i) != 0)
+                this.filled++;
         }
-        return list;
+        for (int group = 0; group < 27; group++)
+            this.conflicts += this.scan(group);
     }
     //</editor-fold>
 
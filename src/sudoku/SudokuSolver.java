@@ -5,6 +5,14 @@
  * Class that takes a Sudoku puzzle, copies and solves it. Contains a method for
  * getting the solution and another for checking its solvavility.
  *
+ * The solving is done by a SolverContext, which keeps bitmasks of the digits
+ * used in each row, column and subgrid, fills in naked and hidden singles, and
+ * searches the remaining cells in the order given by a CellSelection policy
+ * (MRV by default). A SolveBudget limits the time and nodes each search may
+ * take, after which the solver gives up, and getStats() tells how the last
+ * search went. Batch jobs should reuse a SolverContext directly instead of
+ * creating a solver for each puzzle.
+ *
  * Resources that helped:
  * http://www.programcreek.com/2014/05/leetcode-sudoku-solver-java/
  * http://www.heimetli.ch/ffh/simplifiedsudoku.html
@@ -12,21 +20,34 @@
 package sudoku;
 
 
-public class SudokuSolver {
+public class SudokuSolver implements Solver {
 
     /* Declare private members */
     private final SudokuPuzzle puzzle;
-    private final int[][] board;
-    private boolean solvable;
+    private final SolverContext context;
+    private SolveStats stats;
+    private final boolean solvable;
 
 
     /* Default constructor */
     public SudokuSolver(SudokuPuzzle p) {
+        this(p, CellSelection.MRV);
+    }
+
+
+    /* Secondary constructor, takes the policy for picking the next cell to fill */
+    public SudokuSolver(SudokuPuzzle p, CellSelection selection) {
+        this(p, selection, SolveBudget.UNLIMITED);
+    }
+
+
+    /* Tertiary constructor, takes the limits each search must stay within */
+    public SudokuSolver(SudokuPuzzle p, CellSelection selection, SolveBudget budget) {
         this.puzzle = new SudokuPuzzle(p.initialPuzzleState());
-        this.board = this.puzzle.toArray();
-        this.solvable = this.puzzle.isPossible();
-        if (this.solvable)
-            this.solvable = this.solve();
+        this.context = new SolverContext(selection);
+        this.context.setBudget(budget);
+        this.context.reset(this.puzzle);
+        this.solvable = this.countSolutions(1) == 1;
     }
 
 
@@ -35,6 +56,7 @@ public class SudokuSolver {
      *
      * @return True if the puzzle can be solved, false if not.
      */
+    @Override
     public boolean isSolvable() {
         return this.solvable;
     }
@@ -43,42 +65,93 @@ public class SudokuSolver {
     /**
      * Returns the solved Sudoku puzzle, or null if th puzzle couldn't be solved.
      * The puzzle returned is a copy of the Sudoku puzzle passed into the constructor,
-     * but in a solved state.
+     * but in a solved state. Each call returns a new copy, so changing it has no
+     * effect on the solver or on the puzzles returned by other calls.
      *
      * @return A copy of the Sudoku puzzle in a solved state, or null if not solvable.
      */
+    @Override
     public SudokuPuzzle getSolution() {
         if (!this.solvable)
             return null;
-        this.puzzle.setArray(this.board);
-        return this.puzzle;
+        int[][] board = new int[9][9];
+        this.context.getSolution(board);
+        SudokuPuzzle p = new SudokuPuzzle(this.puzzle.initialPuzzleState());
+        p.setArray(board);
+        return p;
+    }
+
+
+    /**
+     * Counts the solutions of the puzzle, stopping as soon as the limit is
+     * reached. Checking whether a puzzle has exactly one solution only needs
+     * a limit of 2.
+     *
+     * @param limit The number of solutions to stop searching at.
+     * @return The number of solutions found, at most the limit.
+     */
+    @Override
+    public int countSolutions(int limit) {
+        long start = System.nanoTime();
+        long cpu = SolveStats.currentThreadCpuTime();
+        int count = this.context.countSolutions(limit);
+        this.stats = this.context.toStats(System.nanoTime() - start,
+                SolveStats.currentThreadCpuTime() - cpu);
+        return count;
+    }
+
+
+    /**
+     * Returns the statistics of the last search, either the solve done when
+     * the solver was created or the last call to countSolutions().
+     *
+     * @return The statistics of the last search.
+     */
+    public SolveStats getStats() {
+        return this.stats;
     }
 
 
     /**
-     * Method that solves the puzzle, using the 2-d integer array representing the
-     * board.
+     * Returns the outcome of the last search, either the solve done when the
+     * solver was created or the last call to countSolutions().
+     *
+     * @return The status of the last search.
+     */
+    @Override
+    public SolveStatus getStatus() {
+        return this.context.getStatus();
+    }
+
+
+    /**
+     * Returns the number of cells filled as naked singles during propagation.
+     *
+     * @return The number of naked singles placed before searching.
+     */
+    public int getNakedSingles() {
+        return this.context.getNakedSingles();
+    }
+
+
+    /**
+     * Returns the number of cells filled as hidden singles during propagation.
+     *
+     * @return The number of hidden singles placed before searching.
+     */
+    public int getHiddenSingles() {
+        return this.context.getHiddenSingles();
+    }
+
+
+    /**
+     * Returns the number of cells left empty after propagation, which are the
+     * cells filled by the search.
+     *
+     * @return The number of cells filled by searching.
      */
-    private boolean solve() {
-
-        /* Loops through the board, skipping non-empty tiles */
-        for (int i = 0; i < 9; i++) {
-            for (int j = 0; j < 9; j++) {
-                if (this.board[i][j] != 0)
-                    continue;
-
-                /* Try each number in the tile; if illegal, backtrack for correction(s) */
-                for (int k = 1; k <= 9; k++) {
-                    this.board[i][j] = k;
-                    if (this.puzzle.insert(k, i, j) && solve())
-                        return true;
-                    this.board[i][j] = 0;
-                }
-                return false;
-            }
-        }
-
-        return this.puzzle.isComplete();
+    public int getSearchedCells() {
+        return this.context.getSearchedCells();
     }
 
 } // End SudokuSolver class
\ No newline at end of file
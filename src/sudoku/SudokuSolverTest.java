@@ -2,51 +2,127 @@
  * SudokuSolverTest.java
  * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
  * -----------------------------------------------------------------------------
- * Contains a test for the SudokuSolver class. Run this file separately from
- * the package with the puzzle text files in the same directory named 1, 2, 3, 4,
+ * Contains a test for the Sudoku solver. Run this file separately from the
+ * package with the puzzle text files in the same directory named 1, 2, 3, 4,
  * and 5 .txt. The test will solve all puzzles and display a message when all
- * puzzles have been solved. If a puzzle could not be solved, an error message
- * appears along with the puzzle that failed the test.
+ * puzzles have been solved. If a puzzle could not be solved or has more than one
+ * solution, an error message appears along with the puzzle that failed the test.
  *
- * Runs slowly (~7.5 minutes to solve all puzzles), but does now work.
+ * Run from the project's root directory. The optional first argument names the
+ * solver backend to test (backtracking, dlx or parallel, backtracking by
+ * default). With the backtracking backend, the puzzles of each file are solved
+ * in parallel by a BatchSolver, and the next arguments name the cell selection
+ * policy (row_major, mrv or mrv_degree, MRV by default) and the number of
+ * threads (one per processor by default); the p50, p99 and maximum of the
+ * solve statistics of each file's puzzles (search nodes, backtracks, depth,
+ * cells filled by propagation and by searching, and time) are displayed. The
+ * other backends solve the puzzles one at a time through SolverBackend. The
+ * time taken for each file is displayed so the backends can be compared.
+ *
+ * Usage: java SudokuSolverTest [BACKEND] [POLICY] [THREADS]
  */
 package sudoku;
 
 
 /* Imports */
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 public class SudokuSolverTest {
 
     public static void main(String[] args) throws IOException {
 
-        /* Declare variables */
-        BufferedReader br;
-
-        /* Read each of the five test files */
-        for (int i = 1; i <= 5; i++) {
-            br = new BufferedReader(new FileReader("src/Sudoku/" + i + ".txt"));
-
-            /* Read and solve each of the 10,000 stored puzzles */
-            for (int j = 0; j < 10000; j++) {
-                String line = br.readLine();
-                SudokuPuzzle p = new SudokuPuzzle(line);
-                SudokuSolver s = new SudokuSolver(p);
-
-                /* The solver failed to solve a puzzle, print error message, stop build */
-                if (!s.isSolvable()) {
-                    System.err.println("Error - Sudoku Solver failed to solve a puzzle.");
-                    System.out.println("Failed Puzzle: ");
-                    p.print();
-                    System.exit(1);
+        /* Declare variables, the backend may be left out */
+        SolverBackend backend = SolverBackend.BACKTRACKING;
+        int a = 0;
+        if (args.length > 0 && SolverBackend.forName(args[0]) != null)
+            backend = SolverBackend.forName(args[a++]);
+        CellSelection policy = CellSelection.MRV;
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args.length > a)
+            policy = CellSelection.fromName(args[a]);
+        if (args.length > a + 1)
+            threads = Integer.parseInt(args[a + 1]);
+        boolean batch = backend == SolverBackend.BACKTRACKING;
+        try (BatchSolver solver = batch ? new BatchSolver(threads, policy) : null) {
+            System.out.println("Solver backend: " + backend);
+            if (batch)
+                System.out.printf("Cell selection policy: %s, %d threads\n", policy, solver.getParallelism());
+
+            /* Read and solve each of the five test files */
+            for (int i = 1; i <= 5; i++) {
+                long start = System.nanoTime();
+                List<BatchResult> results;
+                try (Stream<String> lines = Files.lines(Paths.get("src/sudoku/" + i + ".txt"))) {
+                    Stream<String> puzzles = lines.filter(s -> s.length() >= 81);
+                    results = batch ? solver.solve(puzzles) : solveEach(backend, puzzles);
+                }
+                long elapsed = System.nanoTime() - start;
+
+                /* Checks the result of each puzzle */
+                for (BatchResult r : results) {
+
+                    /* The solver failed to solve a puzzle, print error message, stop build */
+                    if (!r.isSolvable() || !isSolutionOf(r.getSolution(), r.getPuzzle())) {
+                        System.err.println("Error - Sudoku Solver failed to solve a puzzle.");
+                        System.out.println("Failed Puzzle: ");
+                        new SudokuPuzzle(r.getPuzzle()).print();
+                        System.exit(1);
+                    }
+
+                    /* Every bundled puzzle must have exactly one solution */
+                    if (!r.isUnique()) {
+                        System.err.println("Error - Puzzle does not have a unique solution.");
+                        System.out.println("Failed Puzzle: ");
+                        new SudokuPuzzle(r.getPuzzle()).print();
+                        System.exit(1);
+                    }
                 }
+                System.out.printf("%d.txt -- COMPLETE (%d puzzles, %d ms)\n", i, results.size(),
+                        elapsed / 1000000);
+                if (batch)
+                    System.out.print(BatchSolver.summarize(results));
             }
-            System.out.println(i + ".txt -- COMPLETE");
         }
+
         /* Display message when all tests passed */
         System.out.println("Sudoku Solver Test Passed!");
     }
 
+
+    /**
+     * Solves each of the puzzles one at a time with the backend, and returns
+     * the results in the same order; the results hold no statistics.
+     */
+    private static List<BatchResult> solveEach(SolverBackend backend, Stream<String> puzzles) {
+        List<BatchResult> results = new ArrayList<>();
+        for (String puzzle : (Iterable<String>) puzzles::iterator) {
+            Solver s = backend.solve(new SudokuPuzzle(puzzle));
+            String solution = s.isSolvable() ? PuzzleCodec.encode(s.getSolution().toArray()) : null;
+            int count = s.isSolvable() ? s.countSolutions(2) : 0;
+            results.add(new BatchResult(results.size(), puzzle, solution, count, null));
+        }
+        return results;
+    }
+
+
+    /**
+     * Returns true if the solution is complete and keeps every given digit of
+     * the puzzle.
+     */
+    private static boolean isSolutionOf(String solution, String puzzle) {
+        if (!new SudokuPuzzle(solution).isComplete())
+            return false;
+        for (int i = 0; i < 81; i++) {
+            char c = puzzle.charAt(i);
+            if (c >= '1' && c <= '9' && c != solution.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
 } // End SudokuSolverTest class
\ No newline at end of file
@@ -0,0 +1,72 @@
+/**
+ * Symmetry.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Enum of the symmetries a generated puzzle's givens can be laid out with.
+ * NONE places the givens freely, ROTATIONAL keeps them the same when the board
+ * is turned half way around, QUARTER_TURN when it's turned a quarter of the
+ * way, MIRROR when it's flipped left to right, and DIAGONAL when it's flipped
+ * along its main diagonal. PuzzleGenerator removes givens an orbit at a time,
+ * an orbit being a tile together with all of its images under the symmetry.
+ * The symmetry of the puzzles generated in game is NONE by default, and can be
+ * changed with the "sudoku.symmetry" system property.
+ */
+package sudoku;
+
+
+public enum Symmetry {
+
+    NONE, ROTATIONAL, QUARTER_TURN, MIRROR, DIAGONAL;
+
+
+    /**
+     * Returns the tile the specified tile is moved to by the symmetry. Tiles
+     * are numbered 0 to 80 in row-major order.
+     *
+     * @param i The index of the tile.
+     * @return The index of the tile's image.
+     */
+    public int image(int i) {
+        int r = i / 9, c = i % 9;
+        switch (this) {
+            case ROTATIONAL:
+                return (8 - r) * 9 + (8 - c);
+            case QUARTER_TURN:
+                return c * 9 + (8 - r);
+            case MIRROR:
+                return r * 9 + (8 - c);
+            case DIAGONAL:
+                return c * 9 + r;
+            default:
+                return i;
+        }
+    }
+
+
+    /**
+     * Returns the symmetry of the puzzles generated in game, as set by the
+     * "sudoku.symmetry" system property, or NONE if it is not set.
+     *
+     * @return The default symmetry.
+     */
+    public static Symmetry getDefault() {
+        return Symmetry.fromName(System.getProperty("sudoku.symmetry"));
+    }
+
+
+    /**
+     * Returns the symmetry with the specified name, ignoring case, or NONE if
+     * the name does not match any symmetry.
+     *
+     * @param name The name of the symmetry.
+     * @return The matching symmetry.
+     */
+    public static Symmetry fromName(String name) {
+        for (Symmetry s : Symmetry.values()) {
+            if (s.name().equalsIgnoreCase(name))
+                return s;
+        }
+        return NONE;
+    }
+
+} // End Symmetry enum
\ No newline at end of file
@@ -0,0 +1,166 @@
+/**
+ * TextPuzzleBank.java
+ * Authors: Lucas Chavarria, Cole Vikupitz, Ron Guo, James Xu
+ * -----------------------------------------------------------------------------
+ * Puzzle bank read from a text file with one puzzle per line, such as the
+ * resource files 1.txt to 5.txt. Every line holds the 81 characters of a
+ * puzzle, so every record has the same length and the puzzle at any index
+ * starts at index * record length; picking a puzzle reads just that record
+ * instead of every line before it. A bank on disk is read with a random
+ * access file, seeking to the record; a bank from anywhere else, such as a
+ * resource inside the jar, is read into memory once when it is opened.
+ */
+package sudoku;
+
+
+/* Imports */
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+public final class TextPuzzleBank implements PuzzleBank, Closeable {
+
+    /* Declare private members, the file is null when the bank is held in memory */
+    private final RandomAccessFile file;
+    private final byte[] bytes;
+    private final byte[] record;
+    private final int recordLength, size;
+
+
+    /* Default constructor, takes the text file of the bank */
+    public TextPuzzleBank(File f) throws IOException {
+        this.file = new RandomAccessFile(f, "r");
+        this.bytes = null;
+        this.record = new byte[PuzzleCodec.LENGTH];
+        try {
+            byte[] head = new byte[(int) Math.min(this.file.length(), 2 * PuzzleCodec.LENGTH)];
+            this.file.readFully(head);
+            this.recordLength = recordLength(head, head.length);
+            this.size = count(this.file.length(), this.recordLength);
+        } catch (IOException e) {
+            this.file.close();
+            throw e;
+        }
+    }
+
+
+    /* Secondary constructor, takes the whole text of the bank */
+    public TextPuzzleBank(byte[] bytes) throws IOException {
+        this.file = null;
+        this.bytes = bytes;
+        this.record = null;
+        this.recordLength = recordLength(bytes, bytes.length);
+        this.size = count(bytes.length, this.recordLength);
+    }
+
+
+    /**
+     * Opens the bank at the specified location, reading it with a random
+     * access file if it's a file on disk, or into memory otherwise.
+     *
+     * @param url The location of the bank's text file.
+     * @return The opened puzzle bank.
+     * @throws IOException If the bank could not be read.
+     */
+    public static TextPuzzleBank open(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return new TextPuzzleBank(new File(url.toURI()));
+            } catch (URISyntaxException e) {
+                /* Not a usable path, falls back to reading the stream */
+            }
+        }
+        try (InputStream stream = url.openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = stream.read(buffer)) > 0)
+                out.write(buffer, 0, n);
+            return new TextPuzzleBank(out.toByteArray());
+        }
+    }
+
+
+    /**
+     * Returns the number of puzzles in the bank.
+     *
+     * @return The number of puzzles.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+
+    /**
+     * Returns the 81-character string of the puzzle at the specified index,
+     * reading only its record.
+     *
+     * @param index The index of the puzzle, from 0 to size() - 1.
+     * @return The string representing the puzzle's initial state.
+     * @throws IOException If the puzzle could not be read.
+     */
+    @Override
+    public String get(int index) throws IOException {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Puzzle " + index + " of " + this.size);
+        if (this.file == null)
+            return new String(this.bytes, index * this.recordLength, PuzzleCodec.LENGTH,
+                    StandardCharsets.US_ASCII);
+        synchronized (this.file) {
+            this.file.seek((long) index * this.recordLength);
+            this.file.readFully(this.record);
+            return new String(this.record, StandardCharsets.US_ASCII);
+        }
+    }
+
+
+    /**
+     * Closes the file of the bank, if it's read from disk.
+     *
+     * @throws IOException If the file could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.file != null)
+            this.file.close();
+    }
+
+
+    /**
+     * Returns the length of the first line, including its line break, which
+     * is the length of every record. Fails if the line does not hold exactly
+     * one puzzle.
+     */
+    private static int recordLength(byte[] head, int length) throws IOException {
+        for (int k = 0; k < length; k++) {
+            if (head[k] == '\n') {
+                int end = (k > 0 && head[k - 1] == '\r') ? k - 1 : k;
+                if (end != PuzzleCodec.LENGTH)
+                    throw new IOException("Expected lines of 81 characters, got " + end);
+                return k + 1;
+            }
+        }
+        if (length < PuzzleCodec.LENGTH)
+            throw new IOException("Expected 81 characters, got " + length);
+        return length;
+    }
+
+
+    /**
+     * Returns the number of records in a bank of the specified length; the
+     * line break after the last record is optional.
+     */
+    private static int count(long length, int recordLength) {
+        if (length < PuzzleCodec.LENGTH)
+            return 0;
+        return (int) ((length - PuzzleCodec.LENGTH) / recordLength) + 1;
+    }
+
+} // End TextPuzzleBank class
\ No newline at end of file